@@ -0,0 +1,292 @@
+package chess;
+
+/**
+ * Precomputed tables of the tiles each piece attacks. The tables are built once when the class is loaded,
+ * so finding out if a piece on one tile can reach another tile is a single AND with the bit of that tile.
+ *
+ * Rooks, bishops and queens use magic bitboards. The pieces that matter for a sliding piece on a tile are
+ * multiplied by a magic number for that tile, and the top bits of the product are used as an index into a
+ * table that holds the attacks for that arrangement of pieces.
+ *
+ * Tiles are numbered the same way as in Position, 0 is a1, 7 is h1 and 63 is h8.
+ *
+ * @author Amit Patel, Hideyo Sakamoto
+ *
+ */
+
+public class Attacks {
+	// Every tile a knight on the indexed tile can jump to
+	public static final long[] KNIGHT_ATTACKS = new long[64];
+	// Every tile a king on the indexed tile can step to
+	public static final long[] KING_ATTACKS = new long[64];
+	// Every tile a pawn on the indexed tile can capture on, for white and black pawns
+	public static final long[] WHITE_PAWN_ATTACKS = new long[64];
+	public static final long[] BLACK_PAWN_ATTACKS = new long[64];
+	// Tiles strictly between two tiles on the same row, column or diagonal, 0 if they are not on one
+	public static final long[][] BETWEEN = new long[64][64];
+	// The whole row, column or diagonal through two tiles from edge to edge, 0 if they are not on one
+	public static final long[][] LINE = new long[64][64];
+
+	// Relevant tiles for sliding pieces. Tiles on the edge of the board are left out since a piece
+	// there cannot block anything further along the line.
+	private static final long[] ROOK_MASKS = new long[64];
+	private static final long[] BISHOP_MASKS = new long[64];
+	private static final int[] ROOK_SHIFTS = new int[64];
+	private static final int[] BISHOP_SHIFTS = new int[64];
+	private static final long[][] ROOK_TABLE = new long[64][];
+	private static final long[][] BISHOP_TABLE = new long[64][];
+
+	private static final int[][] KNIGHT_STEPS = {{1, 2}, {2, 1}, {2, -1}, {1, -2}, {-1, -2}, {-2, -1}, {-2, 1}, {-1, 2}};
+	private static final int[][] KING_STEPS = {{-1, 0}, {-1, 1}, {0, 1}, {1, 1}, {1, 0}, {1, -1}, {0, -1}, {-1, -1}};
+	private static final int[][] WHITE_PAWN_STEPS = {{-1, 1}, {1, 1}};
+	private static final int[][] BLACK_PAWN_STEPS = {{-1, -1}, {1, -1}};
+	private static final int[][] ROOK_DIRECTIONS = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+	private static final int[][] BISHOP_DIRECTIONS = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+
+	// Magic numbers for every tile. Each one maps every arrangement of pieces on the relevant tiles of its tile
+	// to an index, without two arrangements with different attacks sharing an index.
+	private static final long[] ROOK_MAGICS = {
+		0x008000908064C000L, 0x0040200040001000L, 0x0180100080A0010AL, 0x8880041000800800L,
+		0x1200100201200804L, 0x0200020004011008L, 0x2180010000800600L, 0x0200005088210204L,
+		0x0000800080204001L, 0x1000804000802001L, 0x8240801000200080L, 0x8611001004200900L,
+		0x008180800C001800L, 0x0100800200800400L, 0x0A02000102000408L, 0x8020802300104280L,
+		0x0080004000402000L, 0xE010104000402000L, 0x0800808010002000L, 0xA280210008100100L,
+		0x0001818014000800L, 0xA002010100080400L, 0x0008040088020130L, 0x0001020004048845L,
+		0x0081826280004004L, 0x2020810900284000L, 0x0200100080802000L, 0x0200080080100080L,
+		0x8083080100100500L, 0x4406000901000400L, 0x0005020080800100L, 0x0090204200008114L,
+		0x0010400094800420L, 0x0900804000802002L, 0x0201001841002000L, 0x4100080080801000L,
+		0x4540040080800800L, 0x0000800400800200L, 0x9281800100808200L, 0x8004048102000854L,
+		0x4420802040008006L, 0x0880500020004002L, 0x0801200241050010L, 0x8400080010008080L,
+		0x0008000500090010L, 0x0082009084020008L, 0x4012000108020004L, 0x9000104D08860004L,
+		0x2004204114800100L, 0x0148802112400300L, 0x0202842000100880L, 0x001B080080900080L,
+		0x001A002008100600L, 0x0004008004020080L, 0x5181000600040300L, 0x0000044401128A00L,
+		0x8044110480002441L, 0x1023012082044112L, 0x00804080200A0012L, 0x000420310A004A42L,
+		0x0023001004020801L, 0x0882001008040102L, 0x000230088118020CL, 0x0000019025040042L
+	};
+	private static final long[] BISHOP_MAGICS = {
+		0x1010220204082A00L, 0x80E0020202002804L, 0x2008480104200020L, 0x000220920280002DL,
+		0x32040421000B0284L, 0x1002080404000400L, 0x0004160892080040L, 0x2203024206204201L,
+		0x0002404264010200L, 0x1120908408428124L, 0xB100424403002280L, 0x240008060440C288L,
+		0x2040040420490400L, 0x0100620210040022L, 0x0400084104202028L, 0x0010050080908820L,
+		0x0C90A04490824802L, 0x000200A008210130L, 0x0C08001000204010L, 0x0008000186014480L,
+		0x0601044820080021L, 0x0002000101013100L, 0x1400A08108080204L, 0x0250401104485410L,
+		0x4820240810142843L, 0x0009142A20182200L, 0x0848140048440020L, 0x2020120000400440L,
+		0x0108840200802003L, 0x0009070082009492L, 0x020C0C0038424245L, 0xCA44005808210410L,
+		0x8011212000500404L, 0x2028840510101008L, 0x0004042A00041400L, 0x0624020080980080L,
+		0x1820410040840040L, 0x2201004202050100L, 0x402A088A24040224L, 0x0242061040002400L,
+		0x90020202400821A0L, 0x00C9009004E01002L, 0x58C2060202023100L, 0x0000012214040800L,
+		0x0210846810100200L, 0x0004208081010200L, 0x01A4108404442100L, 0x8054082C80280106L,
+		0x0004144904104208L, 0x00324C0A11104000L, 0x1000020231040100L, 0x2080001042020004L,
+		0x0544021020288104L, 0x1103501408083020L, 0x4010451004960002L, 0x003010091C44902CL,
+		0x0102402884202000L, 0x0480804C00841086L, 0x04602C8602210400L, 0x0000004000420200L,
+		0x0040000020442C18L, 0x4483804089094100L, 0x80000B0248020400L, 0x0045010808008680L
+	};
+
+	static {
+		for (int square = 0; square < 64; square++) {
+			KNIGHT_ATTACKS[square] = stepMask(square, KNIGHT_STEPS);
+			KING_ATTACKS[square] = stepMask(square, KING_STEPS);
+			WHITE_PAWN_ATTACKS[square] = stepMask(square, WHITE_PAWN_STEPS);
+			BLACK_PAWN_ATTACKS[square] = stepMask(square, BLACK_PAWN_STEPS);
+
+			ROOK_MASKS[square] = relevantMask(square, ROOK_DIRECTIONS);
+			BISHOP_MASKS[square] = relevantMask(square, BISHOP_DIRECTIONS);
+			ROOK_SHIFTS[square] = 64 - Long.bitCount(ROOK_MASKS[square]);
+			BISHOP_SHIFTS[square] = 64 - Long.bitCount(BISHOP_MASKS[square]);
+			ROOK_TABLE[square] = new long[1 << Long.bitCount(ROOK_MASKS[square])];
+			BISHOP_TABLE[square] = new long[1 << Long.bitCount(BISHOP_MASKS[square])];
+			fillMagicTable(square, ROOK_MASKS[square], ROOK_MAGICS[square], ROOK_DIRECTIONS, ROOK_TABLE[square]);
+			fillMagicTable(square, BISHOP_MASKS[square], BISHOP_MAGICS[square], BISHOP_DIRECTIONS, BISHOP_TABLE[square]);
+
+			fillLines(square, ROOK_DIRECTIONS);
+			fillLines(square, BISHOP_DIRECTIONS);
+		}
+	}
+
+	/**
+	 * Gets every tile a rook on a tile attacks. The attacks stop at the first piece in each direction,
+	 * and include the tile of that piece.
+	 *
+	 * @param square The tile the rook is on
+	 * @param occupied Mask of every tile that has a piece on it
+	 * @return Mask of the attacked tiles
+	 */
+	public static long rookAttacks(int square, long occupied) {
+		return ROOK_TABLE[square][(int) (((occupied & ROOK_MASKS[square]) * ROOK_MAGICS[square]) >>> ROOK_SHIFTS[square])];
+	}
+
+	/**
+	 * Gets every tile a bishop on a tile attacks. The attacks stop at the first piece in each direction,
+	 * and include the tile of that piece.
+	 *
+	 * @param square The tile the bishop is on
+	 * @param occupied Mask of every tile that has a piece on it
+	 * @return Mask of the attacked tiles
+	 */
+	public static long bishopAttacks(int square, long occupied) {
+		return BISHOP_TABLE[square][(int) (((occupied & BISHOP_MASKS[square]) * BISHOP_MAGICS[square]) >>> BISHOP_SHIFTS[square])];
+	}
+
+	/**
+	 * Gets every tile a queen on a tile attacks, which are the rook and bishop attacks combined.
+	 *
+	 * @param square The tile the queen is on
+	 * @param occupied Mask of every tile that has a piece on it
+	 * @return Mask of the attacked tiles
+	 */
+	public static long queenAttacks(int square, long occupied) {
+		return rookAttacks(square, occupied) | bishopAttacks(square, occupied);
+	}
+
+	/**
+	 * Gets the tiles a knight, bishop, rook, queen or king on a tile attacks.
+	 *
+	 * @param type Kind of piece, such as Position.ROOK
+	 * @param square The tile the piece is on
+	 * @param occupied Mask of every tile that has a piece on it
+	 * @return Mask of the attacked tiles
+	 */
+	public static long pieceAttacks(int type, int square, long occupied) {
+		switch (type) {
+			case Position.KNIGHT:
+				return KNIGHT_ATTACKS[square];
+			case Position.BISHOP:
+				return bishopAttacks(square, occupied);
+			case Position.ROOK:
+				return rookAttacks(square, occupied);
+			case Position.QUEEN:
+				return queenAttacks(square, occupied);
+			default:
+				return KING_ATTACKS[square];
+		}
+	}
+
+	/**
+	 * Builds the mask of tiles that can be reached from a tile by taking any one of the given steps.
+	 * Steps that would leave the board are skipped.
+	 *
+	 * @param square The tile the piece is on
+	 * @param steps Pairs of file and rank steps
+	 * @return Mask of the tiles that can be reached
+	 */
+	private static long stepMask(int square, int[][] steps) {
+		int file = square & 7;
+		int rank = square >>> 3;
+		long mask = 0L;
+
+		for (int[] step : steps) {
+			int nextFile = file + step[0];
+			int nextRank = rank + step[1];
+
+			if (nextFile >= 0 && nextFile <= 7 && nextRank >= 0 && nextRank <= 7) {
+				mask |= 1L << (nextRank * 8 + nextFile);
+			}
+		}
+
+		return mask;
+	}
+
+	/**
+	 * Walks along each direction from a tile until a piece or the edge of the board is reached.
+	 * This is the slow way of finding sliding attacks and is only used to fill the magic tables.
+	 *
+	 * @param square The tile the piece is on
+	 * @param occupied Mask of every tile that has a piece on it
+	 * @param directions Pairs of file and rank steps the piece slides along
+	 * @return Mask of the attacked tiles
+	 */
+	private static long slidingAttacks(int square, long occupied, int[][] directions) {
+		long attacks = 0L;
+
+		for (int[] direction : directions) {
+			int file = (square & 7) + direction[0];
+			int rank = (square >>> 3) + direction[1];
+
+			while (file >= 0 && file <= 7 && rank >= 0 && rank <= 7) {
+				long bit = 1L << (rank * 8 + file);
+				attacks |= bit;
+
+				if ((occupied & bit) != 0) {
+					break;
+				}
+
+				file += direction[0];
+				rank += direction[1];
+			}
+		}
+
+		return attacks;
+	}
+
+	/**
+	 * Builds the mask of tiles whose pieces can block a sliding piece on a tile.
+	 * The last tile in each direction is left out since nothing is behind it.
+	 *
+	 * @param square The tile the piece is on
+	 * @param directions Pairs of file and rank steps the piece slides along
+	 * @return Mask of the relevant tiles
+	 */
+	private static long relevantMask(int square, int[][] directions) {
+		long mask = 0L;
+
+		for (int[] direction : directions) {
+			int file = (square & 7) + direction[0];
+			int rank = (square >>> 3) + direction[1];
+
+			while (file + direction[0] >= 0 && file + direction[0] <= 7 && rank + direction[1] >= 0 && rank + direction[1] <= 7) {
+				mask |= 1L << (rank * 8 + file);
+				file += direction[0];
+				rank += direction[1];
+			}
+		}
+
+		return mask;
+	}
+
+	/**
+	 * Walks out from a tile in each direction and fills in the tiles between it and every tile it passes,
+	 * and the whole line the two tiles are on.
+	 *
+	 * @param square The tile to start from
+	 * @param directions Pairs of file and rank steps
+	 */
+	private static void fillLines(int square, int[][] directions) {
+		for (int[] direction : directions) {
+			int[][] bothWays = {direction, {-direction[0], -direction[1]}};
+			long line = slidingAttacks(square, 0L, bothWays) | (1L << square);
+			long passed = 0L;
+			int file = (square & 7) + direction[0];
+			int rank = (square >>> 3) + direction[1];
+
+			while (file >= 0 && file < 8 && rank >= 0 && rank < 8) {
+				int target = rank * 8 + file;
+				BETWEEN[square][target] = passed;
+				LINE[square][target] = line;
+				passed |= 1L << target;
+				file += direction[0];
+				rank += direction[1];
+			}
+		}
+	}
+
+	/**
+	 * Fills the attack table of a tile. Every arrangement of pieces on the relevant tiles is gone through,
+	 * and its attacks are stored at the index the magic number gives it.
+	 *
+	 * @param square The tile the piece is on
+	 * @param mask Relevant tiles for the tile
+	 * @param magic Magic number of the tile
+	 * @param directions Pairs of file and rank steps the piece slides along
+	 * @param table Attack table of the tile, filled in by this method
+	 */
+	private static void fillMagicTable(int square, long mask, long magic, int[][] directions, long[] table) {
+		int shift = 64 - Long.bitCount(mask);
+		long subset = 0L;
+
+		// Go through every subset of the mask
+		do {
+			table[(int) ((subset * magic) >>> shift)] = slidingAttacks(square, subset, directions);
+			subset = (subset - mask) & mask;
+		} while (subset != 0);
+	}
+}
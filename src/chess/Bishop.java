@@ -1,7 +1,5 @@
 package chess;
 
-import java.util.HashMap;
-
 /**
  * This classes handles the movement rules for Bishop
  * 
@@ -21,17 +19,19 @@ public class Bishop extends Piece {
     }
 
     /**
-     * Verifies that the movement between the two positions is valid
+     * Verifies that the movement between the two tiles is valid
      * 
-     * @param boardObject	The board class instance that holds various pieces of information, including board HashMap
-     * @param currentPosition	The position the Bishop is moving from
-     * @param nextPosition	The position the Bishop is moving to
+     * @param position	Position that holds where the pieces are
+     * @param currentSquare	The tile the Bishop is moving from
+     * @param nextSquare	The tile the Bishop is moving to
      * @return 	True or false depending on if the move is valid
      */
-	public boolean isMoveValid(Board boardObject, String currentPosition, String nextPosition) {
+    @Override
+	public boolean isMoveValid(Position position, int currentSquare, int nextSquare) {
+		int fileDifference = Math.abs((currentSquare & 7) - (nextSquare & 7));
+		int rankDifference = Math.abs((currentSquare >>> 3) - (nextSquare >>> 3));
 		
-		if (Math.abs(currentPosition.charAt(0) - nextPosition.charAt(0)) ==
-				Math.abs(currentPosition.charAt(1) - nextPosition.charAt(1))) {
+		if (fileDifference == rankDifference) {
 			return true;
 		}
 		
@@ -39,106 +39,18 @@ public class Bishop extends Piece {
 	}
 	
 	/**
-	 * Verifies that the movement between the two positions is valid
-	 * Accepts different arguments compared to the above method
-	 * 
-	 * @param boardgame	HashMap of the board and where the pieces are
-	 * @param currentPosition	The position the Bishop is moving from
-	 * @param nextPosition 	The position the Bishop is moving to
-	 * @return	True or false depending on if the move is valid
-	 */
-	public boolean isMoveValid(HashMap<String,Piece> boardgame, String currentPosition, String nextPosition) {
-		
-		if (Math.abs(currentPosition.charAt(0) - nextPosition.charAt(0)) ==
-				Math.abs(currentPosition.charAt(1) - nextPosition.charAt(1))) {
-			return true;
-		}
-		
-		return false;
-	}
-	
-	/**
-	 * Determines if there are are pieces between the bishop's current position and the position the bishop is going to.
+	 * Determines if there are are pieces between the Bishop's current tile and the tile the Bishop is going to.
 	 * The Bishop is not allowed to jump over pieces.
 	 * 
-	 * @param boardgame	HashMap of the board and where the pieces are
-	 * @param currentPosition	The position the Bishop is moving from
-	 * @param nextPosition	The position the Bishop is moving to
+	 * @param position	Position that holds where the pieces are
+	 * @param currentSquare	The tile the Bishop is moving from
+	 * @param nextSquare	The tile the Bishop is moving to
 	 * @return	True or false depending on if the move is valid
 	 */
 	@Override
-	public boolean isPieceBlocked(HashMap<String,Piece> boardgame, String currentPosition, String nextPosition) {
-		char currentPositionLetter = currentPosition.charAt(0);
-		char currentPositionNumber = currentPosition.charAt(1);
-		char nextPositionLetter = nextPosition.charAt(0);
-		char nextPositionNumber = nextPosition.charAt(1);
-		StringBuilder builder = new StringBuilder();
-		
-		// There are four possible scenarios for the two coordinates to differ.
-		// Once a scenario is found, check if there are any pieces blocking the path.
-		if (currentPositionLetter < nextPositionLetter && currentPositionNumber < nextPositionNumber) {
-			currentPositionLetter++;
-			currentPositionNumber++;
-			while(currentPositionLetter < nextPositionLetter && currentPositionNumber < nextPositionNumber) {
-				builder.setLength(0);
-				builder.append(currentPositionLetter);
-				builder.append(currentPositionNumber);
-				
-				if (!(boardgame.get(builder.toString()) instanceof EmptyTile)) {
-					return true;
-				}
-				currentPositionLetter++;
-				currentPositionNumber++;
-			}
-		}
-		else if (currentPositionLetter > nextPositionLetter && currentPositionNumber > nextPositionNumber) {
-			currentPositionLetter--;
-			currentPositionNumber--;
-			while(currentPositionLetter > nextPositionLetter && currentPositionNumber > nextPositionNumber) {
-				builder.setLength(0);
-				builder.append(currentPositionLetter);
-				builder.append(currentPositionNumber);
-				
-				if (!(boardgame.get(builder.toString()) instanceof EmptyTile)) {
-					return true;
-				}
-				currentPositionLetter--;
-				currentPositionNumber--;
-			}
-		}
-		else if (currentPositionLetter > nextPositionLetter && currentPositionNumber < nextPositionNumber) {
-			currentPositionLetter--;
-			currentPositionNumber++;
-			while(currentPositionLetter > nextPositionLetter && currentPositionNumber < nextPositionNumber) {
-				builder.setLength(0);
-				builder.append(currentPositionLetter);
-				builder.append(currentPositionNumber);
-				
-				if (!(boardgame.get(builder.toString()) instanceof EmptyTile)) {
-					return true;
-				}
-				currentPositionLetter--;
-				currentPositionNumber++;
-			}
-		}
-		else if (currentPositionLetter < nextPositionLetter && currentPositionNumber > nextPositionNumber)
-		{
-			currentPositionLetter++;
-			currentPositionNumber--;
-			while(currentPositionLetter < nextPositionLetter && currentPositionNumber > nextPositionNumber) {
-				builder.setLength(0);
-				builder.append(currentPositionLetter);
-				builder.append(currentPositionNumber);
-				
-				if (!(boardgame.get(builder.toString()) instanceof EmptyTile)) {
-					return true;
-				}
-				currentPositionLetter++;
-				currentPositionNumber--;
-			}
-		}
-		
-		return false;
+	public boolean isPieceBlocked(Position position, int currentSquare, int nextSquare) {
+		// isMoveValid has already made sure the two tiles are on one line, so the move is blocked
+		// if any tile between them has a piece on it.
+		return (Attacks.BETWEEN[currentSquare][nextSquare] & position.occupied) != 0;
 	}
-    
 }
\ No newline at end of file
@@ -8,23 +8,26 @@ package chess;
  */
 
 public class Castling {
-	public static boolean canWhiteKingCastle = true;
-	public static boolean canBlackKingCastle = true;
-	public static boolean whiteKingLeftCastle = true;
-	public static boolean whiteKingRightCastle = true;
-	public static boolean blackKingLeftCastle = true;
-	public static boolean blackKingRightCastle = true;
+	// Castling flags, kept together in Position.castlingRights with one bit each
+	public static final int WHITE_KING_CASTLE = 1;		// White king has not moved
+	public static final int WHITE_LEFT_CASTLE = 2;		// Rook on a1 has not moved
+	public static final int WHITE_RIGHT_CASTLE = 4;		// Rook on h1 has not moved
+	public static final int BLACK_KING_CASTLE = 8;		// Black king has not moved
+	public static final int BLACK_LEFT_CASTLE = 16;		// Rook on h8 has not moved
+	public static final int BLACK_RIGHT_CASTLE = 32;	// Rook on a8 has not moved
+	public static final int ALL_RIGHTS = 63;
 	
 	/**
 	 * If a king moves, castling can no longer be done with that player.
 	 * 
-	 * @param coordinate Checks to see if white or black's king has moved
+	 * @param position Position that holds the castling flags
+	 * @param square Checks to see if white or black's king has moved
 	 */
-	public static void kingMoved(String coordinate) {
-		if (coordinate.equals("e1")) {
-			canWhiteKingCastle = false;
-		} else if (coordinate.equals("e8")) {
-			canBlackKingCastle = false;
+	public static void kingMoved(Position position, int square) {
+		if (square == Position.E1) {
+			position.castlingRights &= ~WHITE_KING_CASTLE;
+		} else if (square == Position.E8) {
+			position.castlingRights &= ~BLACK_KING_CASTLE;
 		}
 	}
 	
@@ -32,28 +35,29 @@ public class Castling {
 	 * If a rook moves, castling can no longer be done on that side.
 	 * If both rooks have moved, the king can no longer castle.
 	 * 
-	 * @param coordinate Checks to see if a white or black rook has moved
+	 * @param position Position that holds the castling flags
+	 * @param square Checks to see if a white or black rook has moved
 	 */
-	public static void rookMoved(String coordinate) {
-		if (coordinate.equals("a1")) {
-			whiteKingLeftCastle = false;
+	public static void rookMoved(Position position, int square) {
+		if (square == Position.A1) {
+			position.castlingRights &= ~WHITE_LEFT_CASTLE;
 		} 
-		else if (coordinate.equals("h1")) {
-			whiteKingRightCastle = false;
+		else if (square == Position.H1) {
+			position.castlingRights &= ~WHITE_RIGHT_CASTLE;
 		} 
-		else if (coordinate.equals("a8")) {
-			blackKingRightCastle = false;
+		else if (square == Position.A8) {
+			position.castlingRights &= ~BLACK_RIGHT_CASTLE;
 		}
-		else if (coordinate.equals("h8")) {
-			blackKingLeftCastle = false;
+		else if (square == Position.H8) {
+			position.castlingRights &= ~BLACK_LEFT_CASTLE;
 		}
 		
 		// If both rooks have moved, castling can no longer be done.
-		if (!whiteKingLeftCastle && !whiteKingRightCastle) {
-			canWhiteKingCastle = false;
+		if ((position.castlingRights & (WHITE_LEFT_CASTLE | WHITE_RIGHT_CASTLE)) == 0) {
+			position.castlingRights &= ~WHITE_KING_CASTLE;
 		}
-		if (!blackKingLeftCastle && !blackKingRightCastle) {
-			canBlackKingCastle = false;
+		if ((position.castlingRights & (BLACK_LEFT_CASTLE | BLACK_RIGHT_CASTLE)) == 0) {
+			position.castlingRights &= ~BLACK_KING_CASTLE;
 		}
 	}
 	
@@ -64,40 +68,42 @@ public class Castling {
 	 * the relevant tiles are not in check, including the king itself.
 	 * 
 	 * @param boardObject Contains the chess board info
-	 * @param firstPosition Position of the king
-	 * @param lastPosition Position where the king wants to do
+	 * @param firstPosition Tile of the king
+	 * @param lastPosition Tile where the king wants to go
 	 * @return True if king can castle, false otherwise
 	 */
-	public static boolean whiteKingCastleAttempt(Board boardObject, String firstPosition, String lastPosition) {
-		if (!canWhiteKingCastle || Board.is_black) {
+	public static boolean whiteKingCastleAttempt(Board boardObject, int firstPosition, int lastPosition) {
+		int rights = boardObject.position.castlingRights;
+
+		if ((rights & WHITE_KING_CASTLE) == 0 || !boardObject.position.whiteToMove) {
 			return false;
 		}
 
-		if (!firstPosition.equals("e1")) {
+		if (firstPosition != Position.E1) {
 			return false;
 		}
-		if (!lastPosition.equals("c1") && !lastPosition.equals("g1")) {
+		if (lastPosition != Position.C1 && lastPosition != Position.G1) {
 			return false;
 		}
 		
 		// White king attempting to castle to the left rook.
 		// Check that path to the left white rook is clear and that tiles c1 and d1 are not in a check status
-		if (!whiteKingLeftCastle) {
+		if ((rights & WHITE_LEFT_CASTLE) == 0) {
 			return false;
 		}
-		if (boardObject.board.get("b1") instanceof EmptyTile && boardObject.board.get("c1") instanceof EmptyTile &&
-				boardObject.board.get("d1") instanceof EmptyTile && !KingCheck.castlingKingCheck(boardObject, "c1", 'b') &&
-				!KingCheck.castlingKingCheck(boardObject, "d1", 'b') && !KingCheck.castlingKingCheck(boardObject, "e1", 'b')) {
+		if (boardObject.position.isEmpty(Position.B1) && boardObject.position.isEmpty(Position.C1) &&
+				boardObject.position.isEmpty(Position.D1) && !KingCheck.castlingKingCheck(boardObject, Position.C1, 'b') &&
+				!KingCheck.castlingKingCheck(boardObject, Position.D1, 'b') && !KingCheck.castlingKingCheck(boardObject, Position.E1, 'b')) {
 			return true;
 		}
 			
 		// White king attempting to castle to the right rook.
-		if (!whiteKingRightCastle) {
+		if ((rights & WHITE_RIGHT_CASTLE) == 0) {
 			return false;
 		}
-		if (boardObject.board.get("f1") instanceof EmptyTile && boardObject.board.get("g1") instanceof EmptyTile &&
-				!KingCheck.castlingKingCheck(boardObject, "g1", 'b') && !KingCheck.castlingKingCheck(boardObject, "f1", 'b') &&
-				!KingCheck.castlingKingCheck(boardObject, "e1", 'b')) {
+		if (boardObject.position.isEmpty(Position.F1) && boardObject.position.isEmpty(Position.G1) &&
+				!KingCheck.castlingKingCheck(boardObject, Position.G1, 'b') && !KingCheck.castlingKingCheck(boardObject, Position.F1, 'b') &&
+				!KingCheck.castlingKingCheck(boardObject, Position.E1, 'b')) {
 			return true;
 		}
 		
@@ -111,40 +117,42 @@ public class Castling {
 	 * the relevant tiles are not in check, including the king itself.
 	 * 
 	 * @param boardObject boardObject Contains the chess board info
-	 * @param firstPosition firstPosition Position of the king
-	 * @param lastPosition lastPosition Position where the king wants to do
+	 * @param firstPosition Tile of the king
+	 * @param lastPosition Tile where the king wants to go
 	 * @return True if king can castle, false otherwise
 	 */
-	public static boolean blackKingCastleAttempt(Board boardObject, String firstPosition, String lastPosition) {
-		if (!canBlackKingCastle || Board.is_white) {
+	public static boolean blackKingCastleAttempt(Board boardObject, int firstPosition, int lastPosition) {
+		int rights = boardObject.position.castlingRights;
+
+		if ((rights & BLACK_KING_CASTLE) == 0 || boardObject.position.whiteToMove) {
 			return false;
 		}
 
-		if (!firstPosition.equals("e8")) {
+		if (firstPosition != Position.E8) {
 			return false;
 		}
-		if (!lastPosition.equals("c8") && !lastPosition.equals("g8")) {
+		if (lastPosition != Position.C8 && lastPosition != Position.G8) {
 			return false;
 		}
 		
 		// Black king attempting to castle to the left rook.
 		// Check that path to the left white rook is clear and that tiles f8 and g8 are not in a check status
-		if (!blackKingLeftCastle) {
+		if ((rights & BLACK_LEFT_CASTLE) == 0) {
 			return false;
 		}
-		if (boardObject.board.get("f8") instanceof EmptyTile && boardObject.board.get("g8") instanceof EmptyTile &&
-				!KingCheck.castlingKingCheck(boardObject, "g8", 'w') && !KingCheck.castlingKingCheck(boardObject, "f8", 'w') &&
-				!KingCheck.castlingKingCheck(boardObject, "e8", 'w')) {
+		if (boardObject.position.isEmpty(Position.F8) && boardObject.position.isEmpty(Position.G8) &&
+				!KingCheck.castlingKingCheck(boardObject, Position.G8, 'w') && !KingCheck.castlingKingCheck(boardObject, Position.F8, 'w') &&
+				!KingCheck.castlingKingCheck(boardObject, Position.E8, 'w')) {
 			return true;
 		}
 			
 		// Black king attempting to castle to the right rook.
-		if (!blackKingRightCastle) {
+		if ((rights & BLACK_RIGHT_CASTLE) == 0) {
 			return false;
 		}
-		if (boardObject.board.get("b8") instanceof EmptyTile && boardObject.board.get("c8") instanceof EmptyTile &&
-				boardObject.board.get("d8") instanceof EmptyTile && !KingCheck.castlingKingCheck(boardObject, "c8", 'w') &&
-				!KingCheck.castlingKingCheck(boardObject, "d8", 'w') && !KingCheck.castlingKingCheck(boardObject, "e8", 'w')) {
+		if (boardObject.position.isEmpty(Position.B8) && boardObject.position.isEmpty(Position.C8) &&
+				boardObject.position.isEmpty(Position.D8) && !KingCheck.castlingKingCheck(boardObject, Position.C8, 'w') &&
+				!KingCheck.castlingKingCheck(boardObject, Position.D8, 'w') && !KingCheck.castlingKingCheck(boardObject, Position.E8, 'w')) {
 			return true;
 		}
 		
@@ -12,51 +12,29 @@ import java.util.Scanner;
  */
 
 public class Chess {
+	// How long the computer thinks about each move, in milliseconds
+	private static final long COMPUTER_MILLIS = 2000;
+	private static final int COMPUTER_TABLE_MEGABYTES = 64;
+
 	/**
 	 * Handles all of the user input and calls upon the method from the Board class to print the board.
 	 * 
-	 * @param args Not used
+	 * @param args "computer" to have the computer play black, otherwise not used
 	 */
     public static void main(String[] args) {
         Board boardObject = new Board();
+        boolean computerPlaysBlack = args.length > 0 && args[0].equalsIgnoreCase("computer");
+        Search engine = computerPlaysBlack ? new Search(COMPUTER_TABLE_MEGABYTES) : null;
         
         Scanner scan = new Scanner(System.in);
         String str = "";
         String[] separatedInput = new String[3];
-        String currentPosition ="", nextPosition="";	
+        int currentPosition = -1, nextPosition = -1;	// Tiles are parsed from the input once, -1 if not on the board
         boolean drawAvailable = false;
         String promoPiece = "Q";
         // game start
         while(true) {
 
-        	// At the beginning of a player's turn, any pawns that can be en passanted can no longer be attacked
-			// by an en passant
-
-			if(Board.is_white)
-			{
-				for(String key: boardObject.board.keySet())
-				{
-					Piece pawnPieceCheck = boardObject.board.get(key);
-
-					if (pawnPieceCheck instanceof Pawn && pawnPieceCheck.pieceName.charAt(0) == 'w')
-					{
-						((Pawn) pawnPieceCheck).canBeEnPassanted = false;
-					}
-				}
-			}
-			else
-			{
-				for(String key: boardObject.board.keySet())
-				{
-					Piece pawnPieceCheck = boardObject.board.get(key);
-
-					if (pawnPieceCheck instanceof Pawn && pawnPieceCheck.pieceName.charAt(0) == 'b')
-					{
-						((Pawn) pawnPieceCheck).canBeEnPassanted = false;
-					}
-				}
-			}
-        	
         	boardObject.printBoard();
 
 			System.out.println("");
@@ -73,12 +51,37 @@ public class Chess {
 				System.out.println("Black wins");
 				break;
 			}
-			if (Board.whiteKingInCheck || Board.blackKingInCheck)
+			if (boardObject.stalemate)
+			{
+				System.out.println("Stalemate");
+				System.out.println("draw");
+				break;
+			}
+			if (boardObject.whiteKingInCheck || boardObject.blackKingInCheck)
 			{
 				System.out.println("Check");
 			}
+
+			// The computer's moves come from the search, so they are always legal and need no checks
+			if (computerPlaysBlack && !boardObject.isWhiteTurn())
+			{
+				Search.Result result = engine.search(boardObject.position, Search.MAX_PLY, 0, COMPUTER_MILLIS);
+				int move = result.move;
+				String promotion = Move.isPromotion(move) ? " " + "PNBRQK".charAt(Move.promotion(move)) : "";
+
+				System.out.println("Black's move: " + Position.squareName(Move.from(move)) + " "
+						+ Position.squareName(Move.to(move)) + promotion);
+
+				boardObject.move(move);
+				boardObject.blackKingInCheck = false;
+				boardObject.changeMove();
+				drawAvailable = false;
+
+				System.out.println("");
+				continue;
+			}
         	
-        	if(Board.is_white) {
+        	if(boardObject.isWhiteTurn()) {
             	System.out.print("White's move: ");
             }else {
             	System.out.print("Black's move: ");
@@ -88,7 +91,7 @@ public class Chess {
 
         	// resign
         	if(str.equals("resign")) {
-        		if(Board.is_white) {
+        		if(boardObject.isWhiteTurn()) {
         			System.out.println("Black wins");
             		break;
                 }else {
@@ -110,7 +113,7 @@ public class Chess {
         	while(str.length() < 3 || str.length() > 11 || separatedInput.length < 2 || separatedInput.length > 4) {
         		System.out.println("Illegal move, try again");
         		
-        		if(Board.is_white) {
+        		if(boardObject.isWhiteTurn()) {
                 	System.out.print("White's move: ");
                 }else {
                 	System.out.print("Black's move: ");
@@ -126,8 +129,8 @@ public class Chess {
 				separatedInput = str.split(" ");
         	}
         	
-    		currentPosition = separatedInput[0];
-    		nextPosition = separatedInput[1];
+    		currentPosition = Position.squareIndex(separatedInput[0]);
+    		nextPosition = Position.squareIndex(separatedInput[1]);
     		String thirdEntry = "";
 
 			if(separatedInput.length == 3)
@@ -147,7 +150,7 @@ public class Chess {
     		
     		// Separate check is done if a player tries to castle
     		// If the check is successful, perform the castling movement and proceed to the next turn
-        	if (Board.is_white)
+        	if (boardObject.isWhiteTurn())
         	{
         		if (Castling.whiteKingCastleAttempt(boardObject, currentPosition, nextPosition))
         		{
@@ -173,7 +176,7 @@ public class Chess {
         	{
         		System.out.println("Illegal move, try again");
 
-        		if(Board.is_white) {
+        		if(boardObject.isWhiteTurn()) {
                 	System.out.print("White's move: ");
                 }else {
                 	System.out.print("Black's move: ");
@@ -181,7 +184,7 @@ public class Chess {
         		str = scan.nextLine().toLowerCase();
         		
             	if(str.equals("resign")) {
-            		if(Board.is_white) {
+            		if(boardObject.isWhiteTurn()) {
             			System.out.println("Black wins");
                 		break;
                     }else {
@@ -202,7 +205,7 @@ public class Chess {
 						separatedInput.length > 4) {
 					System.out.println("Illegal move, try again");
 
-					if(Board.is_white) {
+					if(boardObject.isWhiteTurn()) {
 						System.out.print("White's move: ");
 					}else {
 						System.out.print("Black's move: ");
@@ -222,8 +225,8 @@ public class Chess {
 					separatedInput = str.split(" ");
 				}
 
-				currentPosition = separatedInput[0];
-				nextPosition = separatedInput[1];
+				currentPosition = Position.squareIndex(separatedInput[0]);
+				nextPosition = Position.squareIndex(separatedInput[1]);
 
 				if(separatedInput.length == 3)
 				{
@@ -241,7 +244,7 @@ public class Chess {
 				}
             	
         		// If the check is successful, perform the castling movement and proceed to the next turn
-            	if (Board.is_white)
+            	if (boardObject.isWhiteTurn())
             	{
             		if (Castling.whiteKingCastleAttempt(boardObject, currentPosition, nextPosition))
             		{
@@ -266,20 +269,20 @@ public class Chess {
         	boardObject.move(currentPosition, nextPosition, promoPiece);
         	
         	// If king is left in check, move cannot be done
-        	while (Board.is_white && Board.whiteKingInCheck &&
-        		KingCheck.kingLeftInCheck(boardObject.board, Board.whiteKingPosition, Board.is_white, boardObject) ||
-        		Board.is_black && Board.blackKingInCheck &&
-        		KingCheck.kingLeftInCheck(boardObject.board, Board.blackKingPosition, Board.is_black, boardObject))
+        	while (boardObject.isWhiteTurn() && boardObject.whiteKingInCheck &&
+        		KingCheck.kingLeftInCheck(boardObject.position, boardObject.position.getKingSquare(true)) ||
+        		!boardObject.isWhiteTurn() && boardObject.blackKingInCheck &&
+        		KingCheck.kingLeftInCheck(boardObject.position, boardObject.position.getKingSquare(false)))
         	{
         		
-        		boardObject.copyFromActual();
+        		boardObject.undoMove();
         		
         		System.out.println("Illegal move, try again");
         		
-        		currentPosition = "";
-        		nextPosition = "";
+        		currentPosition = -1;
+        		nextPosition = -1;
 
-				if(Board.is_white) {
+				if(boardObject.isWhiteTurn()) {
 					System.out.print("White's move: ");
 				}else {
 					System.out.print("Black's move: ");
@@ -287,7 +290,7 @@ public class Chess {
 				str = scan.nextLine().toLowerCase();
 
 				if(str.equals("resign")) {
-					if(Board.is_white) {
+					if(boardObject.isWhiteTurn()) {
 						System.out.println("Black wins");
 					}else {
 						System.out.println("White wins");
@@ -309,7 +312,7 @@ public class Chess {
 						separatedInput.length > 4) {
 					System.out.println("Illegal move, try again");
 
-					if(Board.is_white) {
+					if(boardObject.isWhiteTurn()) {
 						System.out.print("White's move: ");
 					}else {
 						System.out.print("Black's move: ");
@@ -329,8 +332,8 @@ public class Chess {
 					separatedInput = str.split(" ");
 				}
 
-				currentPosition = separatedInput[0];
-				nextPosition = separatedInput[1];
+				currentPosition = Position.squareIndex(separatedInput[0]);
+				nextPosition = Position.squareIndex(separatedInput[1]);
 				thirdEntry = "";
 
 				if(separatedInput.length == 3)
@@ -353,7 +356,7 @@ public class Chess {
             	{
 					System.out.println("Illegal move, try again");
 
-            		if(Board.is_white) {
+            		if(boardObject.isWhiteTurn()) {
                     	System.out.print("White's move: ");
                     }else {
                     	System.out.print("Black's move: ");
@@ -361,7 +364,7 @@ public class Chess {
             		str = scan.nextLine().toLowerCase();
 
                 	if(str.equals("resign")) {
-                		if(Board.is_white) {
+                		if(boardObject.isWhiteTurn()) {
                 			System.out.println("Black wins");
                     		break;
                         }else {
@@ -384,7 +387,7 @@ public class Chess {
 							separatedInput.length > 4) {
 						System.out.println("Illegal move, try again");
 
-						if(Board.is_white) {
+						if(boardObject.isWhiteTurn()) {
 							System.out.print("White's move: ");
 						}else {
 							System.out.print("Black's move: ");
@@ -404,8 +407,8 @@ public class Chess {
 						separatedInput = str.split(" ");
 					}
 
-					currentPosition = separatedInput[0];
-					nextPosition = separatedInput[1];
+					currentPosition = Position.squareIndex(separatedInput[0]);
+					nextPosition = Position.squareIndex(separatedInput[1]);
 					thirdEntry = "";
 
 					if(separatedInput.length == 3)
@@ -425,7 +428,7 @@ public class Chess {
             	}
 
 				// If the check is successful, perform the castling movement and proceed to the next turn
-				if (Board.is_white)
+				if (boardObject.isWhiteTurn())
 				{
 					if (Castling.whiteKingCastleAttempt(boardObject, currentPosition, nextPosition))
 					{
@@ -448,13 +451,13 @@ public class Chess {
             	
             	boardObject.move(currentPosition, nextPosition, promoPiece);
         	}
-        	if (Board.is_white)
+        	if (boardObject.isWhiteTurn())
 			{
-				Board.whiteKingInCheck = false;
+				boardObject.whiteKingInCheck = false;
 			}
         	else
 			{
-				Board.blackKingInCheck = false;
+				boardObject.blackKingInCheck = false;
 			}
         	
     		boardObject.changeMove();
@@ -468,8 +471,6 @@ public class Chess {
 				drawAvailable = false;
 			}
 
-			boardObject.copyToActual();
-
 			System.out.println("");
         }
         
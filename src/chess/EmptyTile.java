@@ -1,7 +1,5 @@
 package chess;
 
-import java.util.HashMap;
-
 /**
  * The empty tile class lets the program keep track of which tiles have no pieces.
  * 
@@ -23,13 +21,13 @@ public class EmptyTile extends Piece {
     /**
      * Movements from an empty tile is always false since you cannot move an empty tile.
      * 
-     * @param boardgame	HashMap of the board and where the pieces are
-     * @param currentPosition	First position
-     * @param nextPosition	Final position
+     * @param position	Position that holds where the pieces are
+     * @param currentSquare	First tile
+     * @param nextSquare	Final tile
      * @return	Should always return false, an empty tile cannot move.
      */
 	@Override
-	public boolean isMoveValid(HashMap<String,Piece> boardgame, String currentPosition, String nextPosition) {
+	public boolean isMoveValid(Position position, int currentSquare, int nextSquare) {
 		return false;
 	}
 
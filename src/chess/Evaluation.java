@@ -0,0 +1,116 @@
+package chess;
+
+/**
+ * Gives a score to a position without searching any moves, used by Search once it cannot look further ahead.
+ * The score is the material of each side plus a small bonus for where each piece stands, such as knights in the
+ * center and pawns that are close to being promoted. Scores are in hundredths of a pawn.
+ *
+ * @author Amit Patel, Hideyo Sakamoto
+ *
+ */
+
+public class Evaluation {
+	// Value of each kind of piece, indexed by Position.PAWN to Position.KING. The king can never be taken.
+	public static final int[] PIECE_VALUES = {100, 320, 330, 500, 900, 0};
+
+	// Bonus for each tile from white's side of the board, a1 first. Black looks the table up flipped.
+	private static final int[] PAWN_TABLE = {
+		 0,  0,  0,   0,   0,  0,  0,  0,
+		 5, 10, 10, -20, -20, 10, 10,  5,
+		 5, -5,-10,   0,   0,-10, -5,  5,
+		 0,  0,  0,  20,  20,  0,  0,  0,
+		 5,  5, 10,  25,  25, 10,  5,  5,
+		10, 10, 20,  30,  30, 20, 10, 10,
+		50, 50, 50,  50,  50, 50, 50, 50,
+		 0,  0,  0,   0,   0,  0,  0,  0,
+	};
+
+	private static final int[] KNIGHT_TABLE = {
+		-50,-40,-30,-30,-30,-30,-40,-50,
+		-40,-20,  0,  5,  5,  0,-20,-40,
+		-30,  5, 10, 15, 15, 10,  5,-30,
+		-30,  0, 15, 20, 20, 15,  0,-30,
+		-30,  5, 15, 20, 20, 15,  5,-30,
+		-30,  0, 10, 15, 15, 10,  0,-30,
+		-40,-20,  0,  0,  0,  0,-20,-40,
+		-50,-40,-30,-30,-30,-30,-40,-50,
+	};
+
+	private static final int[] BISHOP_TABLE = {
+		-20,-10,-10,-10,-10,-10,-10,-20,
+		-10,  5,  0,  0,  0,  0,  5,-10,
+		-10, 10, 10, 10, 10, 10, 10,-10,
+		-10,  0, 10, 10, 10, 10,  0,-10,
+		-10,  5,  5, 10, 10,  5,  5,-10,
+		-10,  0,  5, 10, 10,  5,  0,-10,
+		-10,  0,  0,  0,  0,  0,  0,-10,
+		-20,-10,-10,-10,-10,-10,-10,-20,
+	};
+
+	private static final int[] ROOK_TABLE = {
+		 0,  0,  0,  5,  5,  0,  0,  0,
+		-5,  0,  0,  0,  0,  0,  0, -5,
+		-5,  0,  0,  0,  0,  0,  0, -5,
+		-5,  0,  0,  0,  0,  0,  0, -5,
+		-5,  0,  0,  0,  0,  0,  0, -5,
+		-5,  0,  0,  0,  0,  0,  0, -5,
+		 5, 10, 10, 10, 10, 10, 10,  5,
+		 0,  0,  0,  0,  0,  0,  0,  0,
+	};
+
+	private static final int[] QUEEN_TABLE = {
+		-20,-10,-10, -5, -5,-10,-10,-20,
+		-10,  0,  5,  0,  0,  0,  0,-10,
+		-10,  5,  5,  5,  5,  5,  0,-10,
+		  0,  0,  5,  5,  5,  5,  0, -5,
+		 -5,  0,  5,  5,  5,  5,  0, -5,
+		-10,  0,  5,  5,  5,  5,  0,-10,
+		-10,  0,  0,  0,  0,  0,  0,-10,
+		-20,-10,-10, -5, -5,-10,-10,-20,
+	};
+
+	// The king stays behind its pawns, castled if it can
+	private static final int[] KING_TABLE = {
+		 20, 30, 10,  0,  0, 10, 30, 20,
+		 20, 20,  0,  0,  0,  0, 20, 20,
+		-10,-20,-20,-20,-20,-20,-20,-10,
+		-20,-30,-30,-40,-40,-30,-30,-20,
+		-30,-40,-40,-50,-50,-40,-40,-30,
+		-30,-40,-40,-50,-50,-40,-40,-30,
+		-30,-40,-40,-50,-50,-40,-40,-30,
+		-30,-40,-40,-50,-50,-40,-40,-30,
+	};
+
+	private static final int[][] TABLES = {PAWN_TABLE, KNIGHT_TABLE, BISHOP_TABLE, ROOK_TABLE, QUEEN_TABLE, KING_TABLE};
+
+	/**
+	 * Gives a score to a position from the side of the player whose turn it is.
+	 *
+	 * @param position Position to score
+	 * @return Score in hundredths of a pawn, more than 0 if the player to move is ahead
+	 */
+	public static int evaluate(Position position) {
+		int score = 0;
+
+		for (int type = Position.PAWN; type <= Position.KING; type++) {
+			int[] table = TABLES[type];
+			long white = position.getPieces(true, type);
+			long black = position.getPieces(false, type);
+
+			score += PIECE_VALUES[type] * (Long.bitCount(white) - Long.bitCount(black));
+
+			while (white != 0) {
+				score += table[Long.numberOfTrailingZeros(white)];
+				white &= white - 1;
+			}
+
+			// Flipping the row turns a tile of black into the same tile from white's side
+			while (black != 0) {
+				score -= table[Long.numberOfTrailingZeros(black) ^ 56];
+				black &= black - 1;
+			}
+		}
+
+		return position.whiteToMove ? score : -score;
+	}
+}
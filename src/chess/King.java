@@ -1,7 +1,5 @@
 package chess;
 
-import java.util.HashMap;
-
 /**
  * This class handles all of the movement rules for the King pieces.
  * 
@@ -21,97 +19,41 @@ public class King extends Piece{
     }
 
     /**
-     * Determine if the movement between the two coordinates is valid for the King.
-     * 
-     * @param board	Board class instance that has various pieces of information, including a HashMap of the board.
-     * @param currentPosition	The position the King piece is trying to move from
-     * @param nextPosition	The position the King piece is moving to
-     * @return	True of false depending on if the movement is legal
-     */
-    @Override
-	public boolean isMoveValid(Board board, String currentPosition, String nextPosition) {
-		int letterDifference = Math.abs(currentPosition.charAt(0) - nextPosition.charAt(0));
-		int numberDifference = Math.abs(currentPosition.charAt(1) - nextPosition.charAt(1));
-		
-		if (letterDifference == 1 && numberDifference == 1 || 
-				letterDifference == 0 && numberDifference == 0 ||
-				letterDifference == 1 && numberDifference == 0 ||
-				letterDifference == 0 && numberDifference == 1) {
-			return true;
-		}
-		
-		return false;
-	}
-	
-    /**
-     * Determine if the movement between the two coordinates is valid for the King.
-     * Same as above method, but accepts different arguments.
+     * Determine if the movement between the two tiles is valid for the King.
      * 
-     * @param boardgame	HashMap of the board and where the pieces are
-     * @param currentPosition	The position the King piece is trying to move from
-     * @param nextPosition	The position the King piece is moving to
+     * @param position	Position that holds where the pieces are
+     * @param currentSquare	The tile the King piece is trying to move from
+     * @param nextSquare	The tile the King piece is moving to
      * @return	True of false depending on if the movement is legal
      */
     @Override
-	public boolean isMoveValid(HashMap<String,Piece> boardgame, String currentPosition, String nextPosition) {
-		int letterDifference = Math.abs(currentPosition.charAt(0) - nextPosition.charAt(0));
-		int numberDifference = Math.abs(currentPosition.charAt(1) - nextPosition.charAt(1));
-	
-		
-		if (letterDifference == 1 && numberDifference == 1 || 
-				letterDifference == 0 && numberDifference == 0 ||
-				letterDifference == 1 && numberDifference == 0 ||
-				letterDifference == 0 && numberDifference == 1) {
+	public boolean isMoveValid(Position position, int currentSquare, int nextSquare) {
+		if (currentSquare == nextSquare) {
 			return true;
 		}
 		
-		return false;
+		// The next tile has to be one of the tiles surrounding the King
+		return (Attacks.KING_ATTACKS[currentSquare] & (1L << nextSquare)) != 0;
 	}
 	
     /**
-     * Determines if moving the King to this position will place it in check or not.
+     * Determines if moving the King to this tile will place it in check or not.
      * If it does, the movement is not allowed.
      * 
-     * @param boardgame	HashMap of the board and where the pieces are
-     * @param currentPosition	The position the King piece is trying to move from
-     * @param nextPosition	The position the King piece is moving to
+     * @param position	Position that holds where the pieces are
+     * @param currentSquare	The tile the King piece is trying to move from
+     * @param nextSquare	The tile the King piece is moving to
      * @return	True of false depending on if the movement will put the king into check
      */
     @Override
-	public boolean isPieceBlocked(HashMap<String,Piece> boardgame, String currentPosition, String nextPosition)
+	public boolean isPieceBlocked(Position position, int currentSquare, int nextSquare)
 	{
 		// King can only move one space. No need to worry about the king being blocked outside of the surrounding tiles.
-		// Next checks should verify if king can move to a certain space.
 		// King should not move in a way that will leave itself in a checked position.
 		
-		char opponentColor = 'w';
-		if (Board.is_white) {
-			opponentColor = 'b';
-		}
-		else if (Board.is_black) {
-			opponentColor = 'w';
-		}
-		
-		// Checks to see if any piece can attack the king if the king moves.
-		// If there is such a piece, the method returns false since the king cannot move itself into a check.
-		for(String key: boardgame.keySet()) {
-			Piece currentPiece = boardgame.get(key);
-
-			if (currentPiece instanceof King) {
-				if(currentPiece.pieceName.charAt(0) == opponentColor &&
-						currentPiece.isMoveValid(boardgame, key, nextPosition)) {
-					return true;
-				}
-			}
-			else {
-				if(currentPiece.pieceName.charAt(0) == opponentColor && 
-						ErrorCheck.checkForErrors(boardgame, key, nextPosition, Board.is_white)) {
-					return true;
-				}
-			}
-		}
-
-		return false;
+		// Checks to see if any piece can attack the king once it is on the next tile, without moving it there.
+		// If there is such a piece, the method returns true since the king cannot move itself into a check.
+		return !position.isLegal(Move.create(currentSquare, nextSquare));
 	}
 
 }
\ No newline at end of file
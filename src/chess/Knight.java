@@ -1,9 +1,5 @@
 package chess;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-
 /**
  * This class handles all of the movement rules for the Knight piece.
  * 
@@ -23,143 +19,31 @@ public class Knight extends Piece {
     }
 
     /**
-     * Verifies that the movement between the two positions is valid
+     * Verifies that the movement between the two tiles is valid.
+     * A Knight has to move two tiles in one direction and one tile in the other direction,
+     * so the next tile has to be in the precomputed knight attacks of the current tile.
      * 
-     * @param board	The board class instance that holds various pieces of information
-     * @param currentPosition	The position the Knight is moving from
-     * @param nextPosition	The position the Knight is moving to
+     * @param position	Position that holds where the pieces are
+     * @param currentSquare	The tile the Knight is moving from
+     * @param nextSquare	The tile the Knight is moving to
      * @return 	True or false depending on if the move is valid
      */
-	public boolean isMoveValid(Board board, String currentPosition, String nextPosition) {
-		
-		// All possible coordinates
-		
-		List<String> possibleCoordinates = new ArrayList<>();
-		StringBuilder builder = new StringBuilder();
-		
-		builder.append((char)(currentPosition.charAt(0) - 1));
-		builder.append((char)(currentPosition.charAt(1) - 2));
-		possibleCoordinates.add(builder.toString());
-		
-		builder.setLength(0);
-		builder.append((char)(currentPosition.charAt(0) - 2));
-		builder.append((char)(currentPosition.charAt(1) - 1));
-		possibleCoordinates.add(builder.toString());
-		
-		builder.setLength(0);
-		builder.append((char)(currentPosition.charAt(0) - 2));
-		builder.append((char)(currentPosition.charAt(1) + 1));
-		possibleCoordinates.add(builder.toString());
-		
-		builder.setLength(0);
-		builder.append((char)(currentPosition.charAt(0) - 1));
-		builder.append((char)(currentPosition.charAt(1) + 2));
-		possibleCoordinates.add(builder.toString());
-		
-		builder.setLength(0);
-		builder.append((char)(currentPosition.charAt(0) + 1));
-		builder.append((char)(currentPosition.charAt(1) + 2));
-		possibleCoordinates.add(builder.toString());
-		
-		builder.setLength(0);
-		builder.append((char)(currentPosition.charAt(0) + 2));
-		builder.append((char)(currentPosition.charAt(1) + 1));
-		possibleCoordinates.add(builder.toString());
-		
-		builder.setLength(0);
-		builder.append((char)(currentPosition.charAt(0) + 2));
-		builder.append((char)(currentPosition.charAt(1) - 1));
-		possibleCoordinates.add(builder.toString());
-		
-		builder.setLength(0);
-		builder.append((char)(currentPosition.charAt(0) + 1));
-		builder.append((char)(currentPosition.charAt(1) - 2));
-		possibleCoordinates.add(builder.toString());
-		
-		for(String coordinate: possibleCoordinates) {
-			if (coordinate.equals(nextPosition)) {
-				return true;
-			}
-		}
-		
-		return false;
-	}
-	
-	/**
-	 * Verifies that the movement between the two positions is valid
-	 * Accepts different arguments compared to the above method
-	 * 
-	 * @param boardgame	HashMap of the board and where the pieces are
-	 * @param currentPosition	The position the Knight is moving from
-	 * @param nextPosition 	The position the Knight is moving to
-	 * @return	True or false depending on if the move is valid
-	 */
-	public boolean isMoveValid(HashMap<String,Piece> boardgame, String currentPosition, String nextPosition) {
-		
-		// All possible coordinates
-		
-		List<String> possibleCoordinates = new ArrayList<>();
-		StringBuilder builder = new StringBuilder();
-		
-		builder.append((char)(currentPosition.charAt(0) - 1));
-		builder.append((char)(currentPosition.charAt(1) - 2));
-		possibleCoordinates.add(builder.toString());
-		
-		builder.setLength(0);
-		builder.append((char)(currentPosition.charAt(0) - 2));
-		builder.append((char)(currentPosition.charAt(1) - 1));
-		possibleCoordinates.add(builder.toString());
-		
-		builder.setLength(0);
-		builder.append((char)(currentPosition.charAt(0) - 2));
-		builder.append((char)(currentPosition.charAt(1) + 1));
-		possibleCoordinates.add(builder.toString());
-		
-		builder.setLength(0);
-		builder.append((char)(currentPosition.charAt(0) - 1));
-		builder.append((char)(currentPosition.charAt(1) + 2));
-		possibleCoordinates.add(builder.toString());
-		
-		builder.setLength(0);
-		builder.append((char)(currentPosition.charAt(0) + 1));
-		builder.append((char)(currentPosition.charAt(1) + 2));
-		possibleCoordinates.add(builder.toString());
-		
-		builder.setLength(0);
-		builder.append((char)(currentPosition.charAt(0) + 2));
-		builder.append((char)(currentPosition.charAt(1) + 1));
-		possibleCoordinates.add(builder.toString());
-		
-		builder.setLength(0);
-		builder.append((char)(currentPosition.charAt(0) + 2));
-		builder.append((char)(currentPosition.charAt(1) - 1));
-		possibleCoordinates.add(builder.toString());
-		
-		builder.setLength(0);
-		builder.append((char)(currentPosition.charAt(0) + 1));
-		builder.append((char)(currentPosition.charAt(1) - 2));
-		possibleCoordinates.add(builder.toString());
-		
-		for(String coordinate: possibleCoordinates) {
-			if (coordinate.equals(nextPosition)) {
-				return true;
-			}
-		}
-		
-		return false;
+	@Override
+	public boolean isMoveValid(Position position, int currentSquare, int nextSquare) {
+		return (Attacks.KNIGHT_ATTACKS[currentSquare] & (1L << nextSquare)) != 0;
 	}
 	
 	/**
 	 * Knights are allowed to jump over other pieces. Therefore, other pieces between the two positions cannot
 	 * block the Knight.
 	 * 
-	 * @param boardgame	HashMap of the board and where the pieces are
-	 * @param currentPosition	The position the Knight is moving from
-	 * @param nextPosition	The position the Knight is moving to
-	 * @return	Always returns true since a Knight can jump over other pieces
+	 * @param position	Position that holds where the pieces are
+	 * @param currentSquare	The tile the Knight is moving from
+	 * @param nextSquare	The tile the Knight is moving to
+	 * @return	Always returns false since a Knight can jump over other pieces
 	 */
 	@Override
-	public boolean isPieceBlocked(HashMap<String,Piece> boardgame, String currentPosition, String nextPosition) {
+	public boolean isPieceBlocked(Position position, int currentSquare, int nextSquare) {
 		// Knights can jump over other pieces.
 		// Other methods will check to make sure there is not friendly piece at the next position.
 		
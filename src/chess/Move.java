@@ -0,0 +1,162 @@
+package chess;
+
+/**
+ * A move is packed into the lowest 16 bits of an int so that moves can be stored and passed around without
+ * creating objects. The lowest 6 bits hold the tile the piece moves from, the next 6 bits hold the tile it
+ * moves to, and the 4 bits above those are flags that tell what kind of move it is.
+ *
+ * Flags:
+ * 0 quiet move, 1 pawn moves two tiles, 2 castling to the king side, 3 castling to the queen side,
+ * 4 capture, 5 en passant, 8 to 11 promotion to a knight, bishop, rook or queen, 12 to 15 the same with a capture.
+ *
+ * The capture bit is set for every move that takes a piece, and the promotion bit for every promotion, so both
+ * can be tested with one AND. Moves made from user input only need the tiles and the promotion, since
+ * Position.makeMove works out castling and en passant from the pieces.
+ *
+ * @author Amit Patel, Hideyo Sakamoto
+ *
+ */
+
+public class Move {
+	public static final int NONE = 0;	// Not a real move, a piece can never move from a1 to a1
+
+	public static final int QUIET = 0;
+	public static final int DOUBLE_PUSH = 1;
+	public static final int KING_CASTLE = 2;
+	public static final int QUEEN_CASTLE = 3;
+	public static final int CAPTURE = 4;
+	public static final int EN_PASSANT = 5;
+	public static final int PROMOTION = 8;
+
+	/**
+	 * Packs a move that is not a promotion, without any flags.
+	 *
+	 * @param from The tile the piece moves from
+	 * @param to The tile the piece moves to
+	 * @return The packed move
+	 */
+	public static int create(int from, int to) {
+		return from | (to << 6);
+	}
+
+	/**
+	 * Packs a move, including the piece a pawn is promoted to. No capture flag is set.
+	 *
+	 * @param from The tile the piece moves from
+	 * @param to The tile the piece moves to
+	 * @param promotion Kind of piece the pawn becomes, such as Position.QUEEN, or 0 if it is not a promotion
+	 * @return The packed move
+	 */
+	public static int create(int from, int to, int promotion) {
+		return promotion == 0 ? create(from, to) : createFlagged(from, to, PROMOTION | (promotion - Position.KNIGHT));
+	}
+
+	/**
+	 * Packs a move with its flags, as the move generator makes them.
+	 *
+	 * @param from The tile the piece moves from
+	 * @param to The tile the piece moves to
+	 * @param flags One of the flag values, such as CAPTURE or PROMOTION | CAPTURE | 3 for taking and becoming a queen
+	 * @return The packed move
+	 */
+	public static int createFlagged(int from, int to, int flags) {
+		return from | (to << 6) | (flags << 12);
+	}
+
+	/**
+	 * Gets the tile the piece moves from.
+	 *
+	 * @param move The packed move
+	 * @return The tile the piece moves from
+	 */
+	public static int from(int move) {
+		return move & 63;
+	}
+
+	/**
+	 * Gets the tile the piece moves to.
+	 *
+	 * @param move The packed move
+	 * @return The tile the piece moves to
+	 */
+	public static int to(int move) {
+		return (move >>> 6) & 63;
+	}
+
+	/**
+	 * Gets the flags of a move.
+	 *
+	 * @param move The packed move
+	 * @return The flags, between 0 and 15
+	 */
+	public static int flags(int move) {
+		return (move >>> 12) & 15;
+	}
+
+	/**
+	 * Gets the kind of piece a pawn is promoted to.
+	 *
+	 * @param move The packed move
+	 * @return Kind of piece, such as Position.QUEEN, or 0 if the move is not a promotion
+	 */
+	public static int promotion(int move) {
+		return isPromotion(move) ? ((move >>> 12) & 3) + Position.KNIGHT : 0;
+	}
+
+	/**
+	 * Determines if a move takes a piece, en passant included. Only known for moves from the move generator.
+	 *
+	 * @param move The packed move
+	 * @return True if the capture flag is set
+	 */
+	public static boolean isCapture(int move) {
+		return (move & (CAPTURE << 12)) != 0;
+	}
+
+	/**
+	 * Determines if a move promotes a pawn.
+	 *
+	 * @param move The packed move
+	 * @return True if the promotion flag is set
+	 */
+	public static boolean isPromotion(int move) {
+		return (move & (PROMOTION << 12)) != 0;
+	}
+
+	/**
+	 * Determines if a move is castling. Only known for moves from the move generator.
+	 *
+	 * @param move The packed move
+	 * @return True for castling to either side
+	 */
+	public static boolean isCastle(int move) {
+		int flags = flags(move);
+		return flags == KING_CASTLE || flags == QUEEN_CASTLE;
+	}
+
+	/**
+	 * Determines if a move is en passant. Only known for moves from the move generator.
+	 *
+	 * @param move The packed move
+	 * @return True for en passant
+	 */
+	public static boolean isEnPassant(int move) {
+		return flags(move) == EN_PASSANT;
+	}
+
+	/**
+	 * Writes a move the way UCI does, such as "e2e4", or "e7e8q" for a promotion.
+	 *
+	 * @param move The packed move
+	 * @return The move as text
+	 */
+	public static String toString(int move) {
+		String text = Position.squareName(from(move)) + Position.squareName(to(move));
+
+		if (promotion(move) != 0) {
+			text += "pnbrqk".charAt(promotion(move));
+		}
+
+		return text;
+	}
+}
@@ -0,0 +1,451 @@
+package chess;
+
+/**
+ * Finds every legal move of the player whose turn it is. Moves are written as packed ints (see Move) into
+ * an array given by the caller, so no objects are made for the list itself.
+ *
+ * Moves are first found from the attack tables without looking at checks. Whether a move leaves the king
+ * in check is then decided from the pieces giving check and the pinned pieces, which the position works out
+ * once. King moves and en passant are tested with Position.isLegal instead, since a king can walk into an
+ * attack and en passant takes away two pieces from the same row. No move is ever made on the position, but the
+ * checking pieces, pins and attacked tiles it works out are kept in it until the next move, so a position must
+ * not be shared by threads while moves are found on it. Each thread should use its own copy.
+ *
+ * Every move carries its flags (see Move), so callers can tell captures, castling, en passant and promotions
+ * apart without looking at the position.
+ *
+ * When the king is in check a separate generator is used that only makes the moves that can get out of it,
+ * so the many moves that would leave the king in check are never made in the first place.
+ *
+ * @author Amit Patel, Hideyo Sakamoto
+ *
+ */
+
+public class MoveGenerator {
+	// No position has more legal moves than this, so an array of this size is always big enough
+	public static final int MAX_MOVES = 256;
+
+	/**
+	 * Writes every legal move of the player whose turn it is into an array.
+	 * Includes promotions to every piece, castling and en passant.
+	 *
+	 * @param position Position to find the moves for
+	 * @param out Array the moves are written to, should hold at least MAX_MOVES moves
+	 * @return Number of moves written
+	 */
+	public static int generateLegalMoves(Position position, int[] out) {
+		long checkers = position.getCheckers();
+
+		if (checkers != 0) {
+			return generateEvasions(position, out, checkers);
+		}
+
+		return keepLegal(position, out, generatePseudoLegalMoves(position, out, true));
+	}
+
+	/**
+	 * Writes the legal captures and promotions of the player whose turn it is into an array, as the end of the
+	 * search needs. Quiet promotions are included, castling and other quiet moves are not.
+	 * The king must not be in check, since then only the moves from generateLegalMoves can get it out.
+	 *
+	 * @param position Position to find the moves for
+	 * @param out Array the moves are written to, should hold at least MAX_MOVES moves
+	 * @return Number of moves written
+	 */
+	public static int generateCaptures(Position position, int[] out) {
+		return keepLegal(position, out, generatePseudoLegalMoves(position, out, false));
+	}
+
+	/**
+	 * Takes the moves that would leave the king in check out of an array of moves found while the king is not in check.
+	 *
+	 * @param position Position the moves were found for
+	 * @param out Array that holds the moves, the legal ones are moved to the front
+	 * @param count Number of moves in the array
+	 * @return Number of legal moves
+	 */
+	private static int keepLegal(Position position, int[] out, int count) {
+		int king = position.getKingSquare(position.whiteToMove);
+		long pinned = position.getPinned();
+		int legal = 0;
+
+		for (int i = 0; i < count; i++) {
+			int move = out[i];
+			int from = Move.from(move);
+			int to = Move.to(move);
+
+			if (from == king || Move.isEnPassant(move)) {
+				if (position.isLegal(move)) {
+					out[legal++] = move;
+				}
+			} else if ((pinned & (1L << from)) == 0 || (Attacks.LINE[king][from] & (1L << to)) != 0) {
+				out[legal++] = move;
+			}
+		}
+
+		return legal;
+	}
+
+	/**
+	 * Writes every legal move of a player whose king is in check. Only moves that can get the king out of check
+	 * are made: the king steps away, or a piece takes the checking piece or moves between it and the king.
+	 * With two checking pieces only the king can move.
+	 *
+	 * Pinned pieces are left out, since moving along the pin can never take the checking piece or block it.
+	 * Castling is left out, since the king cannot castle out of check.
+	 *
+	 * @param position Position to find the moves for
+	 * @param out Array the moves are written to
+	 * @param checkers Mask of the pieces giving check, from getCheckers
+	 * @return Number of moves written
+	 */
+	private static int generateEvasions(Position position, int[] out, long checkers) {
+		boolean white = position.whiteToMove;
+		int offset = white ? 0 : 6;
+		int king = position.getKingSquare(white);
+		long own = position.getOccupancy(white);
+		long enemy = position.getOccupancy(!white);
+		int count = 0;
+
+		long kingTargets = Attacks.KING_ATTACKS[king] & ~own;
+
+		while (kingTargets != 0) {
+			int to = Long.numberOfTrailingZeros(kingTargets);
+			int move = Move.createFlagged(king, to, (enemy & (1L << to)) != 0 ? Move.CAPTURE : Move.QUIET);
+			kingTargets &= kingTargets - 1;
+
+			if (position.isLegal(move)) {
+				out[count++] = move;
+			}
+		}
+
+		if ((checkers & (checkers - 1)) != 0) {
+			return count;
+		}
+
+		int checker = Long.numberOfTrailingZeros(checkers);
+		long targets = checkers | Attacks.BETWEEN[king][checker];
+		long free = ~position.getPinned();
+
+		for (int type = Position.KNIGHT; type <= Position.QUEEN; type++) {
+			long movers = position.pieces[type + offset] & free;
+
+			while (movers != 0) {
+				int from = Long.numberOfTrailingZeros(movers);
+				movers &= movers - 1;
+				long moves = Attacks.pieceAttacks(type, from, position.occupied) & targets;
+
+				count = addMoves(out, count, from, moves & checkers, Move.CAPTURE);
+				count = addMoves(out, count, from, moves & ~checkers, Move.QUIET);
+			}
+		}
+
+		long pawns = position.pieces[Position.PAWN + offset] & free;
+		long[] pawnAttacks = white ? Attacks.WHITE_PAWN_ATTACKS : Attacks.BLACK_PAWN_ATTACKS;
+		int forward = white ? 8 : -8;
+		int startRank = white ? 1 : 6;
+		int lastRank = white ? 7 : 0;
+
+		while (pawns != 0) {
+			int from = Long.numberOfTrailingZeros(pawns);
+			pawns &= pawns - 1;
+			int to = from + forward;
+
+			if ((pawnAttacks[from] & checkers) != 0) {
+				count = addPawnMove(out, count, from, checker, true);
+			}
+
+			if (position.isEmpty(to)) {
+				if ((targets & (1L << to)) != 0) {
+					count = addPawnMove(out, count, from, to, false);
+				}
+				if ((from >>> 3) == startRank && (targets & (1L << (to + forward))) != 0
+						&& position.isEmpty(to + forward)) {
+					out[count++] = Move.createFlagged(from, to + forward, Move.DOUBLE_PUSH);
+				}
+			}
+
+			// En passant can take a pawn that gives check, the whole move is tested to be sure
+			if (position.enPassantSquare >= 0 && (pawnAttacks[from] & (1L << position.enPassantSquare)) != 0) {
+				int move = Move.createFlagged(from, position.enPassantSquare, Move.EN_PASSANT);
+
+				if (position.isLegal(move)) {
+					out[count++] = move;
+				}
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * Determines if the player whose turn it is has at least one legal move. It stops at the first legal move
+	 * it finds instead of writing out every move, so it is cheap enough to run after every move of a game.
+	 * Combined with getCheckers it tells checkmate from stalemate.
+	 *
+	 * The king is tried first, since it is the only piece that can move in double check and the one that most
+	 * often gets out of a check. Castling does not have to be tried, because a king that can castle can also
+	 * move one tile towards its rook.
+	 *
+	 * @param position Position to look at
+	 * @return True if there is a legal move, false for checkmate or stalemate
+	 */
+	public static boolean hasLegalMove(Position position) {
+		boolean white = position.whiteToMove;
+		int offset = white ? 0 : 6;
+		int king = position.getKingSquare(white);
+		long own = position.getOccupancy(white);
+		long enemy = position.getOccupancy(!white);
+		long checkers = position.getCheckers();
+
+		long kingTargets = Attacks.KING_ATTACKS[king] & ~own;
+
+		while (kingTargets != 0) {
+			int to = Long.numberOfTrailingZeros(kingTargets);
+			kingTargets &= kingTargets - 1;
+
+			if (position.isLegal(Move.create(king, to))) {
+				return true;
+			}
+		}
+
+		if ((checkers & (checkers - 1)) != 0) {
+			return false;
+		}
+
+		long evasionTargets = -1L;
+
+		if (checkers != 0) {
+			evasionTargets = checkers | Attacks.BETWEEN[king][Long.numberOfTrailingZeros(checkers)];
+		}
+
+		long pinned = position.getPinned();
+
+		for (int type = Position.KNIGHT; type <= Position.QUEEN; type++) {
+			long movers = position.pieces[type + offset];
+
+			while (movers != 0) {
+				int from = Long.numberOfTrailingZeros(movers);
+				movers &= movers - 1;
+				long targets = Attacks.pieceAttacks(type, from, position.occupied) & ~own & evasionTargets;
+
+				if ((pinned & (1L << from)) != 0) {
+					targets &= Attacks.LINE[king][from];
+				}
+				if (targets != 0) {
+					return true;
+				}
+			}
+		}
+
+		long pawns = position.pieces[Position.PAWN + offset];
+		long[] pawnAttacks = white ? Attacks.WHITE_PAWN_ATTACKS : Attacks.BLACK_PAWN_ATTACKS;
+		int forward = white ? 8 : -8;
+		int startRank = white ? 1 : 6;
+		int lastRank = white ? 7 : 0;
+
+		while (pawns != 0) {
+			int from = Long.numberOfTrailingZeros(pawns);
+			pawns &= pawns - 1;
+			int to = from + forward;
+			long targets = pawnAttacks[from] & enemy;
+
+			if (position.isEmpty(to)) {
+				targets |= 1L << to;
+
+				if ((from >>> 3) == startRank && position.isEmpty(to + forward)) {
+					targets |= 1L << (to + forward);
+				}
+			}
+
+			targets &= evasionTargets;
+
+			if ((pinned & (1L << from)) != 0) {
+				targets &= Attacks.LINE[king][from];
+			}
+			if (targets != 0) {
+				return true;
+			}
+
+			// En passant takes away two pieces from the same row, so the whole move is tested
+			if (position.enPassantSquare >= 0 && (pawnAttacks[from] & (1L << position.enPassantSquare)) != 0
+					&& position.isLegal(Move.create(from, position.enPassantSquare))) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Writes every move of the player whose turn it is into an array, without checking if the move
+	 * leaves the king of the player in check. Castling is only added if the king does not pass through
+	 * an attacked tile.
+	 *
+	 * @param position Position to find the moves for
+	 * @param out Array the moves are written to
+	 * @param quiets False to write only captures and promotions
+	 * @return Number of moves written
+	 */
+	private static int generatePseudoLegalMoves(Position position, int[] out, boolean quiets) {
+		boolean white = position.whiteToMove;
+		int offset = white ? 0 : 6;
+		long own = position.getOccupancy(white);
+		long enemy = position.getOccupancy(!white);
+		int count = 0;
+
+		// Pawns move forward one or two tiles, capture diagonally, and are promoted on the last row
+		long pawns = position.pieces[Position.PAWN + offset];
+		long[] pawnAttacks = white ? Attacks.WHITE_PAWN_ATTACKS : Attacks.BLACK_PAWN_ATTACKS;
+		int forward = white ? 8 : -8;
+		int startRank = white ? 1 : 6;
+		int lastRank = white ? 7 : 0;
+
+		while (pawns != 0) {
+			int from = Long.numberOfTrailingZeros(pawns);
+			pawns &= pawns - 1;
+			int to = from + forward;
+
+			if (position.isEmpty(to) && (quiets || (to >>> 3) == lastRank)) {
+				count = addPawnMove(out, count, from, to, false);
+
+				if (quiets && (from >>> 3) == startRank && position.isEmpty(to + forward)) {
+					out[count++] = Move.createFlagged(from, to + forward, Move.DOUBLE_PUSH);
+				}
+			}
+
+			long captures = pawnAttacks[from] & enemy;
+
+			while (captures != 0) {
+				count = addPawnMove(out, count, from, Long.numberOfTrailingZeros(captures), true);
+				captures &= captures - 1;
+			}
+
+			if (position.enPassantSquare >= 0 && (pawnAttacks[from] & (1L << position.enPassantSquare)) != 0) {
+				out[count++] = Move.createFlagged(from, position.enPassantSquare, Move.EN_PASSANT);
+			}
+		}
+
+		// Knights, bishops, rooks, queens and kings can go to any tile they attack that has no piece of their own
+		for (int type = Position.KNIGHT; type <= Position.KING; type++) {
+			long movers = position.pieces[type + offset];
+
+			while (movers != 0) {
+				int from = Long.numberOfTrailingZeros(movers);
+				movers &= movers - 1;
+				long targets = Attacks.pieceAttacks(type, from, position.occupied) & ~own;
+
+				count = addMoves(out, count, from, targets & enemy, Move.CAPTURE);
+
+				if (quiets) {
+					count = addMoves(out, count, from, targets & ~enemy, Move.QUIET);
+				}
+			}
+		}
+
+		if (!quiets) {
+			return count;
+		}
+
+		// Castling, the king and rook must not have moved, the tiles between them must be empty,
+		// and the king must not be in check or pass through a tile that is attacked
+		int rights = position.castlingRights;
+
+		if (white && (rights & Castling.WHITE_KING_CASTLE) != 0 && position.whiteKingSquare == Position.E1) {
+			if ((rights & Castling.WHITE_RIGHT_CASTLE) != 0 && canCastle(position, Position.E1, Position.H1, true)) {
+				out[count++] = Move.createFlagged(Position.E1, Position.G1, Move.KING_CASTLE);
+			}
+			if ((rights & Castling.WHITE_LEFT_CASTLE) != 0 && canCastle(position, Position.E1, Position.A1, true)) {
+				out[count++] = Move.createFlagged(Position.E1, Position.C1, Move.QUEEN_CASTLE);
+			}
+		}
+		if (!white && (rights & Castling.BLACK_KING_CASTLE) != 0 && position.blackKingSquare == Position.E8) {
+			if ((rights & Castling.BLACK_LEFT_CASTLE) != 0 && canCastle(position, Position.E8, Position.H8, false)) {
+				out[count++] = Move.createFlagged(Position.E8, Position.G8, Move.KING_CASTLE);
+			}
+			if ((rights & Castling.BLACK_RIGHT_CASTLE) != 0 && canCastle(position, Position.E8, Position.A8, false)) {
+				out[count++] = Move.createFlagged(Position.E8, Position.C8, Move.QUEEN_CASTLE);
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * Adds a move from one tile to every tile of a mask, all with the same flags.
+	 *
+	 * @param out Array the moves are written to
+	 * @param count Number of moves already in the array
+	 * @param from The tile the piece moves from
+	 * @param targets Mask of the tiles the piece moves to
+	 * @param flags Flags of the moves, such as Move.CAPTURE
+	 * @return Number of moves in the array after adding
+	 */
+	private static int addMoves(int[] out, int count, int from, long targets, int flags) {
+		while (targets != 0) {
+			out[count++] = Move.createFlagged(from, Long.numberOfTrailingZeros(targets), flags);
+			targets &= targets - 1;
+		}
+
+		return count;
+	}
+
+	/**
+	 * Adds a pawn move. A pawn that reaches the last row can be promoted to a queen, rook, bishop or knight,
+	 * so four moves are added for it.
+	 *
+	 * @param out Array the moves are written to
+	 * @param count Number of moves already in the array
+	 * @param from The tile the pawn moves from
+	 * @param to The tile the pawn moves to
+	 * @param capture True if the pawn takes a piece
+	 * @return Number of moves in the array after adding
+	 */
+	private static int addPawnMove(int[] out, int count, int from, int to, boolean capture) {
+		int rank = to >>> 3;
+		int flags = capture ? Move.CAPTURE : Move.QUIET;
+
+		if (rank == 7 || rank == 0) {
+			flags |= Move.PROMOTION;
+
+			out[count++] = Move.createFlagged(from, to, flags | (Position.QUEEN - Position.KNIGHT));
+			out[count++] = Move.createFlagged(from, to, flags | (Position.ROOK - Position.KNIGHT));
+			out[count++] = Move.createFlagged(from, to, flags | (Position.BISHOP - Position.KNIGHT));
+			out[count++] = Move.createFlagged(from, to, flags);
+		} else {
+			out[count++] = Move.createFlagged(from, to, flags);
+		}
+
+		return count;
+	}
+
+	/**
+	 * Determines if a king can castle with a rook. The rook has to be on its tile, every tile between the king
+	 * and the rook has to be empty, and the king cannot be in check or move through or onto an attacked tile.
+	 *
+	 * @param position Position that holds where the pieces are
+	 * @param kingSquare The tile of the king
+	 * @param rookSquare The tile of the rook
+	 * @param white True for the white king
+	 * @return True if the king can castle with the rook
+	 */
+	private static boolean canCastle(Position position, int kingSquare, int rookSquare, boolean white) {
+		if ((position.pieces[white ? Position.WHITE_ROOK : Position.BLACK_ROOK] & (1L << rookSquare)) == 0) {
+			return false;
+		}
+
+		if ((Attacks.BETWEEN[kingSquare][rookSquare] & position.occupied) != 0) {
+			return false;
+		}
+
+		// The king moves two tiles, so it goes through its own tile and the next two
+		int step = rookSquare > kingSquare ? 1 : -1;
+		long path = (1L << kingSquare) | Attacks.BETWEEN[kingSquare][kingSquare + 3 * step];
+
+		if ((position.getAttacks(!white) & path) != 0) {
+			return false;
+		}
+
+		return true;
+	}
+}
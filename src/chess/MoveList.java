@@ -0,0 +1,85 @@
+package chess;
+
+/**
+ * A list of packed moves backed by an int array, so that adding and reading moves never boxes them or makes
+ * new objects. A list is meant to be made once and filled again for every position, for example one list
+ * for every ply of a search or every depth of a perft count.
+ *
+ * @author Amit Patel, Hideyo Sakamoto
+ *
+ */
+
+public class MoveList {
+	private final int[] moves = new int[MoveGenerator.MAX_MOVES];
+	private int size = 0;
+
+	/**
+	 * Replaces the moves in the list with every legal move of the player whose turn it is.
+	 *
+	 * @param position Position to find the moves for
+	 * @return This list
+	 */
+	public MoveList generate(Position position) {
+		size = MoveGenerator.generateLegalMoves(position, moves);
+		return this;
+	}
+
+	/**
+	 * Replaces the moves in the list with the legal captures and promotions of the player whose turn it is.
+	 * The king must not be in check.
+	 *
+	 * @param position Position to find the moves for
+	 * @return This list
+	 */
+	public MoveList generateCaptures(Position position) {
+		size = MoveGenerator.generateCaptures(position, moves);
+		return this;
+	}
+
+	/**
+	 * Adds a move to the end of the list.
+	 *
+	 * @param move The packed move
+	 */
+	public void add(int move) {
+		moves[size++] = move;
+	}
+
+	/**
+	 * Gets a move of the list.
+	 *
+	 * @param index Index of the move, between 0 and size - 1
+	 * @return The packed move
+	 */
+	public int get(int index) {
+		return moves[index];
+	}
+
+	/**
+	 * Swaps two moves of the list, used to put the moves in the order they should be tried.
+	 *
+	 * @param first Index of one move
+	 * @param second Index of the other move
+	 */
+	public void swap(int first, int second) {
+		int move = moves[first];
+		moves[first] = moves[second];
+		moves[second] = move;
+	}
+
+	/**
+	 * Gets the number of moves in the list.
+	 *
+	 * @return The number of moves
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Removes every move from the list.
+	 */
+	public void clear() {
+		size = 0;
+	}
+}
@@ -0,0 +1,329 @@
+package chess;
+
+/**
+ * Hands out the legal moves of a position one at a time, in the order the search should try them. Alpha-beta
+ * cuts off the rest of the moves once one is good enough, so the sooner the best move comes, the fewer moves
+ * are searched.
+ *
+ * The moves come in stages:
+ * 1. the move from the transposition table, the best move the last time the position was searched,
+ * 2. captures and promotions that do not lose material, the most valuable piece taken with the least valuable
+ * piece first,
+ * 3. the two killer moves, quiet moves that caused a cutoff at the same ply in another position,
+ * 4. the counter move, the quiet move that last caused a cutoff after the same move of the opponent,
+ * 5. every other quiet move, ordered by the history table, which counts how often each piece going to each tile
+ * caused a cutoff,
+ * 6. captures that lose material once the other player takes back, found by Position.see.
+ *
+ * Every legal move is written out once at the start, since the position needs them all to know if there are any.
+ * The end of the search only writes out the captures and promotions, and asks the move generator if there are
+ * any other moves only when there are none of those.
+ * The ordering of each stage is only worked out when the stage is reached, so when the first move is enough
+ * none of the sorting is done. One picker is meant to be made for every ply and used again for every position.
+ *
+ * @author Amit Patel, Hideyo Sakamoto
+ *
+ */
+
+public class MovePicker {
+	private static final int HASH = 0;
+	private static final int CAPTURES_INIT = 1;
+	private static final int CAPTURES = 2;
+	private static final int KILLER_1 = 3;
+	private static final int KILLER_2 = 4;
+	private static final int COUNTER = 5;
+	private static final int QUIETS_INIT = 6;
+	private static final int QUIETS = 7;
+	private static final int BAD_CAPTURES = 8;
+	private static final int DONE = 9;
+
+	private final MoveList moves = new MoveList();
+	private final int[] scores = new int[MoveGenerator.MAX_MOVES];	// Score of the move at the same index
+	private final MoveList badCaptures = new MoveList();
+	private int badIndex;	// Next capture of badCaptures to hand out
+	private int count;		// Number of moves that can still be handed out, from index on
+	private int legalCount;	// Number of legal moves that were written out, before any are left out
+	private int index;		// Next move to hand out
+	private int captureEnd;	// Captures and promotions are between index and captureEnd once they are found
+	private int stage;
+	private boolean capturesOnly;
+
+	private Position position;
+	private int hashMove;
+	private int killer1;
+	private int killer2;
+	private int counterMove;
+	private int[][] history;
+
+	/**
+	 * Gets the picker ready to hand out every legal move of a position.
+	 *
+	 * @param position Position to find the moves for, must not change until every move is handed out
+	 * @param hashMove Move from the transposition table, or Move.NONE
+	 * @param killer1 First killer move of the ply, or Move.NONE
+	 * @param killer2 Second killer move of the ply, or Move.NONE
+	 * @param counterMove Counter move to the move that was just made, or Move.NONE
+	 * @param history History table, indexed by piece and the tile it goes to
+	 */
+	public void init(Position position, int hashMove, int killer1, int killer2, int counterMove, int[][] history) {
+		this.position = position;
+		this.hashMove = hashMove;
+		this.killer1 = killer1;
+		this.killer2 = killer2;
+		this.counterMove = counterMove;
+		this.history = history;
+
+		moves.generate(position);
+		start(HASH, false);
+	}
+
+	/**
+	 * Gets the picker ready to hand out only the captures and promotions of a position, as the end of the search
+	 * needs. Only those moves are written out, so the quiet moves are never made. Captures that lose material are
+	 * left out, since the player would rather not capture at all.
+	 * When the king is in check every move is handed out, since any of them may be the only way out.
+	 *
+	 * @param position Position to find the moves for, must not change until every move is handed out
+	 * @param history History table, indexed by piece and the tile it goes to
+	 */
+	public void initCaptures(Position position, int[][] history) {
+		if (position.getCheckers() != 0) {
+			init(position, Move.NONE, Move.NONE, Move.NONE, Move.NONE, history);
+			return;
+		}
+
+		this.position = position;
+		this.history = history;
+
+		moves.generateCaptures(position);
+		start(CAPTURES_INIT, true);
+	}
+
+	/**
+	 * Starts handing out the moves that were just written out.
+	 *
+	 * @param stage Stage to start at
+	 * @param capturesOnly True if only captures and promotions were written out
+	 */
+	private void start(int stage, boolean capturesOnly) {
+		count = moves.size();
+		legalCount = count;
+		index = 0;
+		badCaptures.clear();
+		badIndex = 0;
+		this.stage = stage;
+		this.capturesOnly = capturesOnly;
+	}
+
+	/**
+	 * Determines if the position has a legal move, quiet moves included even when only captures are handed out.
+	 * When there is no capture the move generator is asked, which stops at the first legal move it finds.
+	 *
+	 * @return False for checkmate or stalemate
+	 */
+	public boolean hasLegalMove() {
+		return legalCount > 0 || capturesOnly && MoveGenerator.hasLegalMove(position);
+	}
+
+	/**
+	 * Hands out the next move.
+	 *
+	 * @return The packed move, or Move.NONE once every move was handed out
+	 */
+	@SuppressWarnings("fallthrough")	// Each stage falls through to the next once it has nothing left
+	public int next() {
+		switch (stage) {
+			case HASH:
+				stage = CAPTURES_INIT;
+
+				if (hashMove != Move.NONE && pick(hashMove)) {
+					return moves.get(index++);
+				}
+				// Falls through to the captures
+
+			case CAPTURES_INIT:
+				findCaptures();
+				stage = CAPTURES;
+				// Falls through
+
+			case CAPTURES:
+				if (index < captureEnd) {
+					return moves.get(pickBest(captureEnd));
+				}
+				if (capturesOnly) {
+					stage = DONE;
+					return Move.NONE;
+				}
+				stage = KILLER_1;
+				// Falls through
+
+			case KILLER_1:
+				stage = KILLER_2;
+
+				if (killer1 != Move.NONE && killer1 != hashMove && pick(killer1)) {
+					return moves.get(index++);
+				}
+				// Falls through
+
+			case KILLER_2:
+				stage = COUNTER;
+
+				if (killer2 != Move.NONE && killer2 != hashMove && pick(killer2)) {
+					return moves.get(index++);
+				}
+				// Falls through
+
+			case COUNTER:
+				stage = QUIETS_INIT;
+
+				if (counterMove != Move.NONE && counterMove != hashMove && counterMove != killer1
+						&& counterMove != killer2 && pick(counterMove)) {
+					return moves.get(index++);
+				}
+				// Falls through
+
+			case QUIETS_INIT:
+				scoreQuiets();
+				stage = QUIETS;
+				// Falls through
+
+			case QUIETS:
+				if (index < count) {
+					return moves.get(pickBest(count));
+				}
+				stage = BAD_CAPTURES;
+				// Falls through
+
+			case BAD_CAPTURES:
+				if (badIndex < badCaptures.size()) {
+					return badCaptures.get(badIndex++);
+				}
+				stage = DONE;
+				// Falls through
+
+			default:
+				return Move.NONE;
+		}
+	}
+
+	/**
+	 * Moves a given move to the front of the moves that are left, if it is one of them.
+	 * Killer and counter moves come from other positions, so they may not be legal here.
+	 *
+	 * @param move The move to look for
+	 * @return True if the move was found
+	 */
+	private boolean pick(int move) {
+		for (int i = index; i < count; i++) {
+			if (moves.get(i) == move) {
+				moves.swap(i, index);
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Moves the captures and promotions that are left to the front, and scores them. Captures that lose material
+	 * are taken out of the list and kept for the last stage. Without capturesOnly the quiet moves stay behind the
+	 * captures, otherwise they are dropped.
+	 */
+	private void findCaptures() {
+		int end = index;
+
+		for (int i = index; i < count; i++) {
+			int move = moves.get(i);
+
+			if (!Move.isCapture(move) && !Move.isPromotion(move)) {
+				continue;
+			}
+
+			if (losesMaterial(move)) {
+				if (!capturesOnly) {
+					badCaptures.add(move);
+				}
+				moves.swap(i--, --count);
+				continue;
+			}
+
+			moves.swap(i, end);
+			scores[end++] = captureOrder(move);
+		}
+
+		captureEnd = end;
+
+		if (capturesOnly) {
+			count = end;
+		}
+	}
+
+	/**
+	 * Scores the quiet moves that are left by the history table.
+	 */
+	private void scoreQuiets() {
+		for (int i = index; i < count; i++) {
+			int move = moves.get(i);
+			scores[i] = history[position.mailbox[Move.from(move)]][Move.to(move)];
+		}
+	}
+
+	/**
+	 * Moves the move with the highest score between index and end to the front and hands it out.
+	 *
+	 * @param end Index after the last move to look at
+	 * @return Index of the move that is handed out
+	 */
+	private int pickBest(int end) {
+		int best = index;
+
+		for (int i = index + 1; i < end; i++) {
+			if (scores[i] > scores[best]) {
+				best = i;
+			}
+		}
+
+		int score = scores[best];
+		scores[best] = scores[index];
+		scores[index] = score;
+		moves.swap(best, index);
+
+		return index++;
+	}
+
+	/**
+	 * Determines if a capture loses material. Taking a piece worth at least as much as the piece that takes it
+	 * can never lose, so the exchange is only worked out for the other captures.
+	 *
+	 * @param move The capture or promotion
+	 * @return True if the exchange on the tile loses material
+	 */
+	private boolean losesMaterial(int move) {
+		if (!Move.isCapture(move) || Move.isEnPassant(move)) {
+			return false;
+		}
+
+		int attacker = position.mailbox[Move.from(move)] % 6;
+		int victim = position.mailbox[Move.to(move)] % 6;
+
+		return Evaluation.PIECE_VALUES[victim] < Evaluation.PIECE_VALUES[attacker] && position.see(move) < 0;
+	}
+
+	/**
+	 * Gives a capture or promotion a value to sort by, higher for a more valuable piece taken and a less valuable
+	 * piece taking it. A promotion counts as taking the piece the pawn becomes.
+	 *
+	 * @param move The capture or promotion
+	 * @return Value to sort by
+	 */
+	private int captureOrder(int move) {
+		int victim = Move.isEnPassant(move) ? Position.PAWN : position.mailbox[Move.to(move)] % 6;
+		int value = Move.isCapture(move) ? 8 * (victim + 1) : 0;
+
+		if (Move.isPromotion(move)) {
+			value += 8 * Move.promotion(move);
+		}
+
+		return value + Position.KING - position.mailbox[Move.from(move)] % 6;
+	}
+}
@@ -0,0 +1,361 @@
+package chess;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Counts every position that can be reached from a position in a given number of moves. The counts of
+ * well known positions have been worked out by many other programs, so comparing against them shows if
+ * the move rules are right. It also gives one number for how fast moves are made and taken back.
+ *
+ * The count can also be split over every core. Each first move, and the moves after it while enough depth
+ * is left, becomes a task in a ForkJoinPool with its own copy of the position. The tasks can share a
+ * PerftHash so that positions reached by different move orders are only counted once.
+ *
+ * Usage:
+ * java chess.Perft						runs the suite of reference positions
+ * java chess.Perft parallel				runs the suite on every core with a shared hash
+ * java chess.Perft depth [fen]			counts the positions, starting position if no FEN is given
+ * java chess.Perft divide depth [fen]	same, but also prints the count after each first move
+ * java chess.Perft parallel depth [fen]	same, but on every core with a shared hash
+ *
+ * @author Amit Patel, Hideyo Sakamoto
+ *
+ */
+
+public class Perft {
+	// Tasks with this depth or less left are counted by one thread instead of being split further
+	private static final int SEQUENTIAL_DEPTH = 3;
+	private static final int HASH_MEGABYTES = 64;
+
+	private static final String START_FEN = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+	// FEN, depth and the number of positions at that depth
+	private static final Object[][] SUITE = {
+		{START_FEN, 5, 4865609L},
+		// Kiwipete, lots of castling, en passant and promotions
+		{"r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1", 4, 4085603L},
+		{"8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1", 5, 674624L},
+		{"r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1", 4, 422333L},
+		{"rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8", 4, 2103487L},
+		// En passant that would leave the king in check, or that gives check
+		{"3k4/3p4/8/K1P4r/8/8/8/8 b - - 0 1", 6, 1134888L},
+		{"8/8/4k3/8/2p5/8/B2P2K1/8 w - - 0 1", 6, 1015133L},
+		{"8/8/1k6/2b5/2pP4/8/5K2/8 b - d3 0 1", 6, 1440467L},
+		// Castling that gives check, and castling rights that are lost by capture
+		{"5k2/8/8/8/8/8/8/4K2R w K - 0 1", 6, 661072L},
+		{"3k4/8/8/8/8/8/8/R3K3 w Q - 0 1", 6, 803711L},
+		{"r3k2r/1b4bq/8/8/8/8/7B/R3K2R w KQkq - 0 1", 4, 1274206L},
+		// Promotions out of check, to give check, and to a piece other than a queen
+		{"2K2r2/4P3/8/8/8/8/8/3k4 w - - 0 1", 6, 3821001L},
+		{"8/P1k5/K7/8/8/8/8/8 w - - 0 1", 6, 92683L},
+		{"4k3/1P6/8/8/8/8/K7/8 w - - 0 1", 6, 217342L},
+		// Stalemate
+		{"K1k5/8/P7/8/8/8/8/8 w - - 0 1", 6, 2217L},
+	};
+
+	/**
+	 * Runs the reference suite, or counts the positions of one FEN if arguments are given.
+	 *
+	 * @param args Nothing or parallel for the suite, otherwise [divide | parallel] depth [fen]
+	 */
+	public static void main(String[] args) {
+		boolean divide = args.length > 0 && args[0].equals("divide");
+		boolean parallel = args.length > 0 && args[0].equals("parallel");
+		int first = divide || parallel ? 1 : 0;
+
+		if (args.length == first && !divide) {
+			System.exit(runSuite(parallel) ? 0 : 1);
+		}
+		if (args.length <= first) {
+			System.out.println("Usage: java chess.Perft [divide | parallel] depth [fen]");
+			return;
+		}
+
+		int depth = Integer.parseInt(args[first]);
+		String fen = START_FEN;
+
+		if (args.length > first + 1) {
+			fen = String.join(" ", Arrays.copyOfRange(args, first + 1, args.length));
+		}
+
+		Position position = new Position();
+		position.loadFen(fen);
+
+		long start = System.nanoTime();
+		long nodes;
+
+		if (parallel) {
+			nodes = parallelPerft(position, depth, Runtime.getRuntime().availableProcessors(), new PerftHash(HASH_MEGABYTES));
+		} else {
+			nodes = divide ? divide(position, depth) : perft(position, depth);
+		}
+		long time = System.nanoTime() - start;
+
+		System.out.println("Nodes: " + nodes);
+		System.out.println("Time: " + time / 1000000 + " ms, " + nodesPerSecond(nodes, time) + " nodes per second");
+	}
+
+	/**
+	 * Counts every position that can be reached from a position in a given number of moves.
+	 * The position is the same after the count as before it.
+	 *
+	 * @param position The position to count from
+	 * @param depth Number of moves
+	 * @return Number of positions
+	 */
+	public static long perft(Position position, int depth) {
+		if (depth <= 0) {
+			return 1;
+		}
+
+		return perft(position, depth, newLists(depth));
+	}
+
+	/**
+	 * Counts the positions like perft, but splits the work over several threads.
+	 * The position is not changed, every task works on its own copy.
+	 *
+	 * @param position The position to count from
+	 * @param depth Number of moves
+	 * @param threads Number of threads to use
+	 * @param hash Table shared by the threads to reuse counts, or null to not use one
+	 * @return Number of positions
+	 */
+	public static long parallelPerft(Position position, int depth, int threads, PerftHash hash) {
+		if (depth <= 0) {
+			return 1;
+		}
+
+		Position copy = new Position();
+		copy.copyFrom(position);
+
+		ForkJoinPool pool = new ForkJoinPool(threads);
+
+		try {
+			return pool.invoke(new PerftTask(copy, depth, hash));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Counts the positions like perft, and prints the count after each first move.
+	 * This helps to find which move has the wrong count when a result does not match.
+	 *
+	 * @param position The position to count from
+	 * @param depth Number of moves
+	 * @return Number of positions
+	 */
+	public static long divide(Position position, int depth) {
+		if (depth <= 0) {
+			return 1;
+		}
+
+		MoveList[] moves = newLists(depth);
+		MoveList list = moves[depth].generate(position);
+		long total = 0;
+
+		for (int i = 0; i < list.size(); i++) {
+			int move = list.get(i);
+
+			position.makeMove(move);
+			position.changeSide();
+			long nodes = depth == 1 ? 1 : perft(position, depth - 1, moves);
+			position.changeSide();
+			position.unmakeMove();
+
+			System.out.println(Move.toString(move) + ": " + nodes);
+			total += nodes;
+		}
+
+		return total;
+	}
+
+	/**
+	 * Counts the positions, using one list of moves for every depth so nothing is made during the count.
+	 *
+	 * @param position The position to count from
+	 * @param depth Number of moves, at least 1
+	 * @param moves One list of moves for every depth
+	 * @return Number of positions
+	 */
+	private static long perft(Position position, int depth, MoveList[] moves) {
+		return perft(position, depth, moves, null);
+	}
+
+	/**
+	 * Counts the positions, looking up and storing the count of every position in a hash if one is given.
+	 *
+	 * @param position The position to count from
+	 * @param depth Number of moves, at least 1
+	 * @param moves One list of moves for every depth
+	 * @param hash Table of counts, or null to not use one
+	 * @return Number of positions
+	 */
+	private static long perft(Position position, int depth, MoveList[] moves, PerftHash hash) {
+		if (hash != null && depth > 1) {
+			long stored = hash.probe(position.key, depth);
+
+			if (stored >= 0) {
+				return stored;
+			}
+		}
+
+		MoveList list = moves[depth].generate(position);
+
+		// The moves at the last depth do not have to be made, they only need to be counted
+		if (depth == 1) {
+			return list.size();
+		}
+
+		long nodes = 0;
+
+		for (int i = 0; i < list.size(); i++) {
+			position.makeMove(list.get(i));
+			position.changeSide();
+			nodes += perft(position, depth - 1, moves, hash);
+			position.changeSide();
+			position.unmakeMove();
+		}
+
+		if (hash != null) {
+			hash.store(position.key, depth, nodes);
+		}
+
+		return nodes;
+	}
+
+	/**
+	 * Runs every position of the reference suite and prints the results.
+	 *
+	 * @param parallel True to split each count over every core with a shared hash
+	 * @return True if every count matched
+	 */
+	public static boolean runSuite(boolean parallel) {
+		Position position = new Position();
+		int threads = Runtime.getRuntime().availableProcessors();
+		PerftHash hash = parallel ? new PerftHash(HASH_MEGABYTES) : null;
+		long totalNodes = 0;
+		long totalTime = 0;
+		int failed = 0;
+
+		for (Object[] test : SUITE) {
+			String fen = (String) test[0];
+			int depth = (Integer) test[1];
+			long expected = (Long) test[2];
+
+			position.loadFen(fen);
+
+			long start = System.nanoTime();
+			long nodes = parallel ? parallelPerft(position, depth, threads, hash) : perft(position, depth);
+			long time = System.nanoTime() - start;
+
+			totalNodes += nodes;
+			totalTime += time;
+
+			if (nodes != expected) {
+				failed++;
+			}
+
+			System.out.println((nodes == expected ? "ok    " : "FAILED") + " depth " + depth + " " + nodes
+					+ (nodes == expected ? "" : " expected " + expected) + "  " + fen);
+		}
+
+		System.out.println(SUITE.length - failed + " of " + SUITE.length + " passed, " + totalNodes + " nodes in "
+				+ totalTime / 1000000 + " ms, " + nodesPerSecond(totalNodes, totalTime) + " nodes per second");
+
+		return failed == 0;
+	}
+
+	/**
+	 * Makes one list of moves for every depth of a count.
+	 *
+	 * @param depth Number of moves
+	 * @return The lists, indexed by the depth that is left
+	 */
+	private static MoveList[] newLists(int depth) {
+		MoveList[] lists = new MoveList[depth + 1];
+
+		for (int i = 0; i <= depth; i++) {
+			lists[i] = new MoveList();
+		}
+
+		return lists;
+	}
+
+	/**
+	 * Works out the nodes per second.
+	 *
+	 * @param nodes Number of positions counted
+	 * @param nanos Time taken in nanoseconds
+	 * @return Nodes per second
+	 */
+	private static long nodesPerSecond(long nodes, long nanos) {
+		return nanos == 0 ? 0 : nodes * 1000000000L / nanos;
+	}
+
+	/**
+	 * Counts the positions below one position. While enough depth is left, every move becomes a new task
+	 * that can be taken by another thread. Near the end the count is done by the thread itself.
+	 */
+	private static class PerftTask extends RecursiveTask<Long> {
+		private static final long serialVersionUID = 1L;
+
+		private final Position position;
+		private final int depth;
+		private final PerftHash hash;
+
+		/**
+		 * @param position Copy of the position that belongs to this task only
+		 * @param depth Number of moves, at least 1
+		 * @param hash Table of counts shared by every task, or null
+		 */
+		PerftTask(Position position, int depth, PerftHash hash) {
+			this.position = position;
+			this.depth = depth;
+			this.hash = hash;
+		}
+
+		@Override
+		protected Long compute() {
+			if (depth <= SEQUENTIAL_DEPTH) {
+				return perft(position, depth, newLists(depth), hash);
+			}
+
+			if (hash != null) {
+				long stored = hash.probe(position.key, depth);
+
+				if (stored >= 0) {
+					return stored;
+				}
+			}
+
+			MoveList moves = new MoveList().generate(position);
+			List<PerftTask> tasks = new ArrayList<>(moves.size());
+
+			for (int i = 0; i < moves.size(); i++) {
+				Position child = new Position();
+				child.copyFrom(position);
+				child.makeMove(moves.get(i));
+				child.changeSide();
+				tasks.add(new PerftTask(child, depth - 1, hash));
+			}
+
+			long nodes = 0;
+
+			for (PerftTask task : invokeAll(tasks)) {
+				nodes += task.join();
+			}
+
+			if (hash != null) {
+				hash.store(position.key, depth, nodes);
+			}
+
+			return nodes;
+		}
+	}
+}
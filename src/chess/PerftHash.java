@@ -0,0 +1,69 @@
+package chess;
+
+/**
+ * Table of perft counts that can be shared by many threads, looked up by the Zobrist key of a position and
+ * the depth it was counted to. The same position is often reached by different move orders, so its count
+ * only has to be worked out once.
+ *
+ * Entries are stored the same way as in TranspositionTable, as the key XOR the data and the data itself,
+ * so a torn entry is never returned. The data is the count shifted up 8 bits with the depth below it.
+ * A new entry always replaces the old one in its slot.
+ *
+ * @author Amit Patel, Hideyo Sakamoto
+ *
+ */
+
+public class PerftHash {
+	private final long[] table;
+	private final int slotMask;
+
+	/**
+	 * Makes a table that uses about the given amount of memory, rounded down to a power of two number of entries.
+	 *
+	 * @param megabytes Size of the table in megabytes, at least 1
+	 */
+	public PerftHash(int megabytes) {
+		if (megabytes < 1) {
+			throw new IllegalArgumentException("Perft hash needs at least 1 MB, got " + megabytes);
+		}
+
+		long slots = Long.highestOneBit((long) megabytes * 1024 * 1024 / 16);
+		slots = Math.min(slots, 1L << 29);
+
+		table = new long[(int) slots * 2];
+		slotMask = (int) slots - 1;
+	}
+
+	/**
+	 * Looks up the count of a position.
+	 *
+	 * @param key Zobrist key of the position
+	 * @param depth Depth of the count
+	 * @return The count, or -1 if it is not in the table
+	 */
+	public long probe(long key, int depth) {
+		int slot = ((int) key & slotMask) * 2;
+		long data = table[slot + 1];
+
+		if (data != 0 && (table[slot] ^ data) == key && (data & 0xFF) == depth) {
+			return data >>> 8;
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Stores the count of a position.
+	 *
+	 * @param key Zobrist key of the position
+	 * @param depth Depth of the count, between 1 and 255
+	 * @param count Number of positions
+	 */
+	public void store(long key, int depth, long count) {
+		int slot = ((int) key & slotMask) * 2;
+		long data = (count << 8) | depth;
+
+		table[slot] = key ^ data;
+		table[slot + 1] = data;
+	}
+}
@@ -1,7 +1,5 @@
 package chess;
 
-import java.util.HashMap;
-
 /**
  * Abstract class that is used to define the different pieces used in Chess.
  * 
@@ -10,7 +8,9 @@ import java.util.HashMap;
  */
 
 public abstract class Piece {
-    String pieceName;
+    // A piece has no state of its own, so one object of each kind is shared by every tile and board
+    final String pieceName;
+    final int index;	// Index of the bitboard this piece is kept in, -1 for an empty tile
     
     /**
      * Names the piece depending on what kind of piece is being defined
@@ -18,6 +18,7 @@ public abstract class Piece {
      */
     public Piece(String pieceName) {
         this.pieceName = pieceName;
+        this.index = Position.pieceIndex(pieceName);
     }
 
     /**
@@ -30,40 +31,46 @@ public abstract class Piece {
     }
 
     /**
-     * Is used to determine if the movement of a piece between two positions is valid.
+     * Used to find the color of a piece from the index of its bitboard instead of its name
      * 
-     * @param board	The board class instance that holds various pieces of information
-     * @param currentPosition	The position the piece is moving from
-     * @param nextPosition	The position the piece is moving to
-     * @return 	Return false if this version is called
+     * @return	True for a white piece, false for a black piece or an empty tile
      */
-	public boolean isMoveValid(Board board, String currentPosition, String nextPosition) {
-		return false;
-	}
-	
+    public boolean isWhite() {
+        return index >= 0 && index < 6;
+    }
+
+    /**
+     * Used to find the color of a piece from the index of its bitboard instead of its name
+     * 
+     * @return	True for a black piece, false for a white piece or an empty tile
+     */
+    public boolean isBlack() {
+        return index >= 6;
+    }
+
 	/**
-	 * Is used to determine if the movement of a piece between two positions is valid.
-	 * Same method as above, but with different arguments.
+	 * Is used to determine if the movement of a piece between two tiles is valid.
+	 * Tiles are numbered from 0 to 63, where 0 is a1, 7 is h1 and 63 is h8.
 	 * 
-	 * @param boardgame	HashMap of the board and where the pieces are
-	 * @param currentPosition	The position the piece is moving from
-	 * @param nextPosition 	The position the piece is moving to
+	 * @param position	Position that holds where the pieces are
+	 * @param currentSquare	The tile the piece is moving from
+	 * @param nextSquare 	The tile the piece is moving to
 	 * @return	Return false if this version is called
 	 */
-	public boolean isMoveValid(HashMap<String,Piece> boardgame, String currentPosition, String nextPosition) {
+	public boolean isMoveValid(Position position, int currentSquare, int nextSquare) {
 		return false;
 	}
     
 	/**
-	 * Used to determine if there are other piecs between the two positions a piece is travelling between
+	 * Used to determine if there are other piecs between the two tiles a piece is travelling between
 	 * and the piece cannot jump over other pieces.
 	 * 
-	 * @param boardgame	HashMap of the board and where the pieces are
-	 * @param currentPosition	The position the piece is moving from
-	 * @param nextPosition 	The position the piece is moving to
+	 * @param position	Position that holds where the pieces are
+	 * @param currentSquare	The tile the piece is moving from
+	 * @param nextSquare 	The tile the piece is moving to
 	 * @return	Return false if this version is called
 	 */
-    public boolean isPieceBlocked(HashMap<String,Piece> boardgame, String currentPosition, String nextPosition){
+    public boolean isPieceBlocked(Position position, int currentSquare, int nextSquare){
     	return true;
     }
 }
\ No newline at end of file
@@ -0,0 +1,1061 @@
+package chess;
+
+import java.util.Arrays;
+
+/**
+ * Bitboard representation of the pieces on the board. Every kind of piece has its own 64 bit mask, where
+ * bit 0 is a1, bit 7 is h1 and bit 63 is h8. Occupancy masks for both colors are kept next to the piece masks
+ * so that questions like "is this tile empty" can be answered with a single bit test.
+ *
+ * A square centric array of the pieces is kept as well, so that the piece on a tile can be found without
+ * searching through the twelve masks. It holds the index of the piece mask for each tile, one byte per tile.
+ * Every kind of piece, and the empty tiles of each color, only exist once as an object, which getPiece hands
+ * out. Pieces hold no state of their own, so the same object can stand for every white pawn on every board.
+ *
+ * A position belongs to one thread at a time. The attacked tiles, checking pieces and pins are worked out when
+ * first asked for and kept without any locking, so only isLegal and isSquareAttacked, which read nothing but
+ * the masks, can be called by several threads on the same position, as long as no move is made on it.
+ *
+ * @author Amit Patel, Hideyo Sakamoto
+ *
+ */
+
+public class Position {
+	// Indexes of the piece masks. White pieces come first, black pieces are offset by 6.
+	public static final int WHITE_PAWN = 0;
+	public static final int WHITE_KNIGHT = 1;
+	public static final int WHITE_BISHOP = 2;
+	public static final int WHITE_ROOK = 3;
+	public static final int WHITE_QUEEN = 4;
+	public static final int WHITE_KING = 5;
+	public static final int BLACK_PAWN = 6;
+	public static final int BLACK_KNIGHT = 7;
+	public static final int BLACK_BISHOP = 8;
+	public static final int BLACK_ROOK = 9;
+	public static final int BLACK_QUEEN = 10;
+	public static final int BLACK_KING = 11;
+
+	// Kinds of pieces, without their color. The index of a piece mask is its kind plus 6 for black.
+	public static final int PAWN = 0;
+	public static final int KNIGHT = 1;
+	public static final int BISHOP = 2;
+	public static final int ROOK = 3;
+	public static final int QUEEN = 4;
+	public static final int KING = 5;
+
+	// Tiles used by castling
+	public static final int A1 = 0;
+	public static final int B1 = 1;
+	public static final int C1 = 2;
+	public static final int D1 = 3;
+	public static final int E1 = 4;
+	public static final int F1 = 5;
+	public static final int G1 = 6;
+	public static final int H1 = 7;
+	public static final int A8 = 56;
+	public static final int B8 = 57;
+	public static final int C8 = 58;
+	public static final int D8 = 59;
+	public static final int E8 = 60;
+	public static final int F8 = 61;
+	public static final int G8 = 62;
+	public static final int H8 = 63;
+
+	private static final String PIECE_LETTERS = "pNBRQK";
+	private static final String FEN_LETTERS = "pnbrqk";
+
+	// Value of an empty tile in the mailbox
+	public static final int EMPTY = -1;
+
+	// Piece values used by see. The king is worth more than everything else, so it only takes last.
+	private static final int[] SEE_VALUES = {
+		Evaluation.PIECE_VALUES[PAWN], Evaluation.PIECE_VALUES[KNIGHT], Evaluation.PIECE_VALUES[BISHOP],
+		Evaluation.PIECE_VALUES[ROOK], Evaluation.PIECE_VALUES[QUEEN], 20000
+	};
+
+	// The one object for every kind of piece, indexed the same way as the piece masks, and the two empty tiles
+	private static final Piece[] PIECE_INSTANCES = new Piece[12];
+	private static final Piece LIGHT_TILE = new EmptyTile("  ");
+	private static final Piece DARK_TILE = new EmptyTile("##");
+
+	static {
+		for (int index = 0; index < 12; index++) {
+			PIECE_INSTANCES[index] = createPiece(index);
+		}
+	}
+
+	long[] pieces = new long[12];	// One mask per kind of piece
+	long whitePieces = 0L;			// All white pieces
+	long blackPieces = 0L;			// All black pieces
+	long occupied = 0L;				// Every tile that is not empty
+
+	byte[] mailbox = new byte[64];	// Index of the piece mask of the piece on each tile, EMPTY if there is none
+
+	int enPassantSquare = -1;		// Tile a pawn can move to by en passant, -1 if there is none
+	long key = 0L;					// Zobrist key of the position, kept up to date as pieces are placed
+
+	boolean whiteToMove = true;					// Whose turn it is
+	int castlingRights = Castling.ALL_RIGHTS;	// Castling flags, see Castling
+	int whiteKingSquare = E1;					// Tiles of the kings, updated whenever a king is placed
+	int blackKingSquare = E8;
+
+	// Undo stack. Only what a move changes is saved, so a move can be taken back without copying the board.
+	private int[] undoMoves = new int[256];
+	private byte[] undoMovedPieces = new byte[256];
+	private byte[] undoCapturedPieces = new byte[256];
+	private int[] undoCastlingRights = new int[256];
+	private int[] undoEnPassantSquares = new int[256];
+	private long[] undoKeys = new long[256];
+	private int undoCount = 0;
+
+	// Every tile attacked by each color, worked out when first asked for and thrown away when a piece is placed
+	private long whiteAttacks = 0L;
+	private long blackAttacks = 0L;
+	private boolean attacksValid = false;
+
+	// Pieces giving check to the king of the player to move, and that player's pieces that are pinned to it.
+	// Worked out when first asked for and thrown away when a piece is placed or the turn changes.
+	private long checkers = 0L;
+	private long pinned = 0L;
+	private boolean pinsValid = false;
+
+	// Tiles each kind of piece of the player to move would give check from, and that player's pieces that
+	// uncover a check on the other king when they move off its line. Thrown away at the same times as the pins.
+	private long[] checkSquares = new long[6];
+	private long discoverers = 0L;
+	private boolean checkInfoValid = false;
+
+	// What each side has won after every capture of a static exchange, kept so see does not make an array.
+	// No exchange has more captures than there are pieces.
+	private final int[] seeGains = new int[32];
+
+	/**
+	 * Makes a position with no pieces on it.
+	 */
+	public Position() {
+		Arrays.fill(mailbox, (byte) EMPTY);
+	}
+
+	/**
+	 * Converts a coordinate such as "e4" into the index of its tile.
+	 *
+	 * @param coordinate The coordinate of the tile
+	 * @return The index of the tile between 0 and 63, or -1 if the coordinate is not on the board
+	 */
+	public static int squareIndex(String coordinate) {
+		if (coordinate == null || coordinate.length() != 2) {
+			return -1;
+		}
+
+		int file = coordinate.charAt(0) - 'a';
+		int rank = coordinate.charAt(1) - '1';
+
+		if (file < 0 || file > 7 || rank < 0 || rank > 7) {
+			return -1;
+		}
+
+		return rank * 8 + file;
+	}
+
+	/**
+	 * Converts the index of a tile back into a coordinate such as "e4".
+	 *
+	 * @param square The index of the tile
+	 * @return The coordinate of the tile
+	 */
+	public static String squareName(int square) {
+		char[] name = {(char)('a' + (square & 7)), (char)('1' + (square >>> 3))};
+		return new String(name);
+	}
+
+	/**
+	 * Finds the mask a piece is kept in using the name of the piece.
+	 *
+	 * @param pieceName Name of the piece, such as wp or bK
+	 * @return Index of the piece mask, or -1 for an empty tile
+	 */
+	public static int pieceIndex(String pieceName) {
+		if (pieceName == null || pieceName.length() != 2) {
+			return -1;
+		}
+
+		int type = PIECE_LETTERS.indexOf(pieceName.charAt(1));
+
+		if (type < 0) {
+			return -1;
+		}
+		if (pieceName.charAt(0) == 'w') {
+			return type;
+		}
+		if (pieceName.charAt(0) == 'b') {
+			return type + 6;
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Gets the piece that is on a tile. This lets the older code that uses coordinates keep working.
+	 *
+	 * @param coordinate The coordinate of the tile, such as "e4"
+	 * @return The piece on the tile, or null if the coordinate is not on the board
+	 */
+	public Piece getPiece(String coordinate) {
+		int square = squareIndex(coordinate);
+
+		if (square < 0) {
+			return null;
+		}
+
+		return getPiece(square);
+	}
+
+	/**
+	 * Gets the piece that is on a tile.
+	 *
+	 * @param square The index of the tile
+	 * @return The piece on the tile
+	 */
+	public Piece getPiece(int square) {
+		int index = mailbox[square];
+
+		return index == EMPTY ? emptyTile(square) : PIECE_INSTANCES[index];
+	}
+
+	/**
+	 * Places a piece on a tile, replacing whatever was there before.
+	 * Placing an EmptyTile clears the tile.
+	 *
+	 * @param coordinate The coordinate of the tile, such as "e4"
+	 * @param piece The piece to place
+	 */
+	public void put(String coordinate, Piece piece) {
+		put(squareIndex(coordinate), piece);
+	}
+
+	/**
+	 * Places a piece on a tile, replacing whatever was there before.
+	 * Placing an EmptyTile clears the tile.
+	 *
+	 * @param square The index of the tile
+	 * @param piece The piece to place
+	 */
+	public void put(int square, Piece piece) {
+		put(square, piece.index);
+	}
+
+	/**
+	 * Places a piece on a tile by the index of its mask, replacing whatever was there before.
+	 * This is what every move uses, since no piece object has to be looked up.
+	 *
+	 * @param square The index of the tile
+	 * @param index Index of the piece mask, such as WHITE_QUEEN, or EMPTY to clear the tile
+	 */
+	private void put(int square, int index) {
+		long bit = 1L << square;
+		int oldIndex = mailbox[square];
+
+		if (oldIndex != EMPTY) {
+			pieces[oldIndex] &= ~bit;
+			whitePieces &= ~bit;
+			blackPieces &= ~bit;
+			key ^= Zobrist.PIECES[oldIndex][square];
+		}
+
+		mailbox[square] = (byte) index;
+
+		if (index != EMPTY) {
+			pieces[index] |= bit;
+			key ^= Zobrist.PIECES[index][square];
+
+			if (index == WHITE_KING) {
+				whiteKingSquare = square;
+			} else if (index == BLACK_KING) {
+				blackKingSquare = square;
+			}
+
+			if (index < 6) {
+				whitePieces |= bit;
+			} else {
+				blackPieces |= bit;
+			}
+		}
+
+		occupied = whitePieces | blackPieces;
+		attacksValid = false;
+		pinsValid = false;
+		checkInfoValid = false;
+	}
+
+	/**
+	 * Determines if a tile has no piece on it.
+	 *
+	 * @param square The index of the tile
+	 * @return True if there is no piece on the tile
+	 */
+	public boolean isEmpty(int square) {
+		return (occupied & (1L << square)) == 0;
+	}
+
+	/**
+	 * Determines if any piece of a color attacks a tile. Instead of going through every piece of the color,
+	 * the attacks of each kind of piece are looked up from the tile itself and compared with where those
+	 * pieces are. A knight on the tile would reach every knight that attacks it, and so on.
+	 *
+	 * @param square The index of the tile
+	 * @param byWhite True to look for white attackers, false for black attackers
+	 * @return True if the tile is attacked
+	 */
+	public boolean isSquareAttacked(int square, boolean byWhite) {
+		int offset = byWhite ? 0 : 6;
+
+		// A pawn attacks the tile if a pawn of the other color on the tile would attack the pawn
+		long pawnAttacks = byWhite ? Attacks.BLACK_PAWN_ATTACKS[square] : Attacks.WHITE_PAWN_ATTACKS[square];
+
+		if ((pawnAttacks & pieces[PAWN + offset]) != 0) {
+			return true;
+		}
+		if ((Attacks.KNIGHT_ATTACKS[square] & pieces[KNIGHT + offset]) != 0) {
+			return true;
+		}
+		if ((Attacks.KING_ATTACKS[square] & pieces[KING + offset]) != 0) {
+			return true;
+		}
+
+		long rooksAndQueens = pieces[ROOK + offset] | pieces[QUEEN + offset];
+		long bishopsAndQueens = pieces[BISHOP + offset] | pieces[QUEEN + offset];
+
+		return (Attacks.rookAttacks(square, occupied) & rooksAndQueens) != 0
+				|| (Attacks.bishopAttacks(square, occupied) & bishopsAndQueens) != 0;
+	}
+
+	/**
+	 * Gets every piece of a color that attacks a tile.
+	 *
+	 * @param square The index of the tile
+	 * @param byWhite True for the white pieces, false for black
+	 * @return Mask of the attacking pieces
+	 */
+	public long attackersOf(int square, boolean byWhite) {
+		return attackersOf(square, byWhite, occupied);
+	}
+
+	/**
+	 * Gets every piece of a color that would attack a tile if the given tiles were the ones with pieces on them.
+	 * Used to find out what a move would do to the lines of rooks, bishops and queens without making it.
+	 *
+	 * @param square The index of the tile
+	 * @param byWhite True for the white pieces, false for black
+	 * @param occupancy Mask of the tiles to treat as taken
+	 * @return Mask of the attacking pieces
+	 */
+	private long attackersOf(int square, boolean byWhite, long occupancy) {
+		int offset = byWhite ? 0 : 6;
+		long pawnAttacks = byWhite ? Attacks.BLACK_PAWN_ATTACKS[square] : Attacks.WHITE_PAWN_ATTACKS[square];
+
+		return (pawnAttacks & pieces[PAWN + offset])
+				| (Attacks.KNIGHT_ATTACKS[square] & pieces[KNIGHT + offset])
+				| (Attacks.KING_ATTACKS[square] & pieces[KING + offset])
+				| (Attacks.rookAttacks(square, occupancy) & (pieces[ROOK + offset] | pieces[QUEEN + offset]))
+				| (Attacks.bishopAttacks(square, occupancy) & (pieces[BISHOP + offset] | pieces[QUEEN + offset]));
+	}
+
+	/**
+	 * Determines if a move would leave the king of the player making it in check, without making it.
+	 * The tiles the pieces would be on after the move are worked out as a mask, and the attackers of the king
+	 * are looked up with that mask. A piece the move takes no longer attacks anything.
+	 *
+	 * Only the masks are read. Nothing in the position is changed, not even the cached attacks or pins,
+	 * so many threads can check moves against the same position as long as no one makes a move on it.
+	 *
+	 * @param move The packed move, it has to follow the movement rules of its piece
+	 * @return True if the king of the player making the move is not attacked after it
+	 */
+	public boolean isLegal(int move) {
+		int from = Move.from(move);
+		int to = Move.to(move);
+		int index = mailbox[from];
+		boolean white = index < 6;
+		int type = index % 6;
+		long captured = 1L << to;
+
+		// En passant takes the pawn that is next to the moving pawn, not the one on the tile it moves to
+		if (type == PAWN && to == enPassantSquare && (from & 7) != (to & 7)) {
+			captured = 1L << (white ? to - 8 : to + 8);
+		}
+
+		long after = (occupied & ~(1L << from) & ~captured) | (1L << to);
+		int king = type == KING ? to : getKingSquare(white);
+
+		return (attackersOf(king, !white, after) & ~captured) == 0;
+	}
+
+	/**
+	 * Works out what a move wins or loses once every piece that can take on its tile has done so, the static
+	 * exchange evaluation. Both players take with their least valuable piece first, and either can stop taking
+	 * whenever going on would lose. Sliding pieces behind a piece that takes are added as soon as their line opens.
+	 * A quiet move gives 0, or less if the piece can be taken for free.
+	 *
+	 * No move is made and nothing is made on the heap. Pins are not looked at. The list of gains is kept in the
+	 * position, so like makeMove it must not be used by two threads on the same position at once.
+	 *
+	 * @param move The packed move, it has to follow the movement rules of its piece
+	 * @return Material won by the player making the move, in hundredths of a pawn, less than 0 if it loses
+	 */
+	public int see(int move) {
+		int from = Move.from(move);
+		int to = Move.to(move);
+		int type = mailbox[from] % 6;
+		boolean white = mailbox[from] < 6;
+
+		// Castling can never be taken back on the tile the king goes to
+		if (type == KING && Math.abs(to - from) == 2) {
+			return 0;
+		}
+
+		long occupancy = occupied ^ (1L << from);
+		int gain = mailbox[to] == EMPTY ? 0 : SEE_VALUES[mailbox[to] % 6];
+
+		if (type == PAWN && to == enPassantSquare && (from & 7) != (to & 7)) {
+			occupancy ^= 1L << (white ? to - 8 : to + 8);
+			gain = SEE_VALUES[PAWN];
+		}
+
+		int onTile = SEE_VALUES[type];	// Value of the piece that can be taken next
+
+		if (Move.promotion(move) != 0) {
+			gain += SEE_VALUES[Move.promotion(move)] - SEE_VALUES[PAWN];
+			onTile = SEE_VALUES[Move.promotion(move)];
+		}
+
+		long bishops = pieces[WHITE_BISHOP] | pieces[BLACK_BISHOP] | pieces[WHITE_QUEEN] | pieces[BLACK_QUEEN];
+		long rooks = pieces[WHITE_ROOK] | pieces[BLACK_ROOK] | pieces[WHITE_QUEEN] | pieces[BLACK_QUEEN];
+		long attackers = (attackersOf(to, true, occupancy) | attackersOf(to, false, occupancy)) & occupancy;
+		boolean side = !white;
+		int depth = 0;
+
+		seeGains[0] = gain;
+
+		while (true) {
+			long sideAttackers = attackers & (side ? whitePieces : blackPieces);
+
+			if (sideAttackers == 0) {
+				break;
+			}
+
+			// The least valuable piece takes next
+			int attackerType = PAWN;
+			long attacker = 0L;
+
+			for (; attackerType <= KING; attackerType++) {
+				attacker = sideAttackers & pieces[side ? attackerType : attackerType + 6];
+
+				if (attacker != 0) {
+					break;
+				}
+			}
+
+			depth++;
+			seeGains[depth] = onTile - seeGains[depth - 1];
+
+			occupancy ^= Long.lowestOneBit(attacker);
+
+			if (attackerType == PAWN || attackerType == BISHOP || attackerType == QUEEN) {
+				attackers |= Attacks.bishopAttacks(to, occupancy) & bishops;
+			}
+			if (attackerType == ROOK || attackerType == QUEEN) {
+				attackers |= Attacks.rookAttacks(to, occupancy) & rooks;
+			}
+
+			attackers &= occupancy;
+			onTile = SEE_VALUES[attackerType];
+			side = !side;
+		}
+
+		// Going back, each player takes only if it does better than stopping
+		while (depth > 0) {
+			seeGains[depth - 1] = -Math.max(-seeGains[depth - 1], seeGains[depth]);
+			depth--;
+		}
+
+		return seeGains[0];
+	}
+
+	/**
+	 * Gets the pieces giving check to the king of the player whose turn it is. The result is kept in the
+	 * position, so this must not be called by two threads on the same position.
+	 *
+	 * @return Mask of the checking pieces, 0 if the king is not in check
+	 */
+	public long getCheckers() {
+		if (!pinsValid) {
+			updateChecksAndPins();
+		}
+
+		return checkers;
+	}
+
+	/**
+	 * Gets the pieces of the player whose turn it is that are pinned to their king.
+	 * A pinned piece can only move along the line between the king and the piece pinning it.
+	 * The result is kept in the position, so this must not be called by two threads on the same position.
+	 *
+	 * @return Mask of the pinned pieces
+	 */
+	public long getPinned() {
+		if (!pinsValid) {
+			updateChecksAndPins();
+		}
+
+		return pinned;
+	}
+
+	/**
+	 * Works out the checkers and pinned pieces by looking out from the king along every line. Enemy rooks,
+	 * bishops and queens that would attack the king if only the enemy pieces were on the board are the
+	 * possible pinners. If exactly one piece is between the king and such a piece, that piece is pinned,
+	 * and if there is none, the king is in check.
+	 */
+	private void updateChecksAndPins() {
+		boolean white = whiteToMove;
+		int king = getKingSquare(white);
+		int offset = white ? 6 : 0;
+		long enemy = getOccupancy(!white);
+
+		checkers = attackersOf(king, !white);
+		pinned = 0L;
+
+		long snipers = (Attacks.rookAttacks(king, enemy) & (pieces[ROOK + offset] | pieces[QUEEN + offset]))
+				| (Attacks.bishopAttacks(king, enemy) & (pieces[BISHOP + offset] | pieces[QUEEN + offset]));
+
+		while (snipers != 0) {
+			int sniper = Long.numberOfTrailingZeros(snipers);
+			snipers &= snipers - 1;
+
+			long between = Attacks.BETWEEN[king][sniper];
+			long blockers = between & occupied;
+
+			if (blockers != 0 && (blockers & (blockers - 1)) == 0 && (blockers & enemy) == 0) {
+				pinned |= blockers;
+			}
+		}
+
+		pinsValid = true;
+	}
+
+	/**
+	 * Determines if a move of the player whose turn it is gives check, without making it. The piece can
+	 * attack the king from the tile it moves to, or it can move off a line between one of its own rooks,
+	 * bishops or queens and the king. Promotions, en passant and castling are handled as well.
+	 *
+	 * @param move The packed move, see Move
+	 * @return True if the move puts the other king in check
+	 */
+	public boolean givesCheck(int move) {
+		if (!checkInfoValid) {
+			updateCheckInfo();
+		}
+
+		int from = Move.from(move);
+		int to = Move.to(move);
+		int type = mailbox[from] % 6;
+		int promotion = Move.promotion(move);
+		int enemyKing = getKingSquare(!whiteToMove);
+		long fromBit = 1L << from;
+		long toBit = 1L << to;
+
+		if (promotion == 0 && (checkSquares[type] & toBit) != 0) {
+			return true;
+		}
+
+		// Moving along the line to the king keeps it blocked
+		if ((discoverers & fromBit) != 0 && (Attacks.LINE[enemyKing][from] & toBit) == 0) {
+			return true;
+		}
+
+		// The new piece attacks from the last row, and the pawn no longer blocks its own tile
+		if (promotion != 0) {
+			return (Attacks.pieceAttacks(promotion, to, occupied ^ fromBit) & (1L << enemyKing)) != 0;
+		}
+
+		// En passant also takes a pawn off a tile that can be on a line to the king
+		if (type == PAWN && to == enPassantSquare && (from & 7) != (to & 7)) {
+			int offset = whiteToMove ? 0 : 6;
+			int capturedSquare = whiteToMove ? to - 8 : to + 8;
+			long after = (occupied ^ fromBit ^ (1L << capturedSquare)) | toBit;
+
+			return (Attacks.rookAttacks(enemyKing, after) & (pieces[ROOK + offset] | pieces[QUEEN + offset])) != 0
+					|| (Attacks.bishopAttacks(enemyKing, after) & (pieces[BISHOP + offset] | pieces[QUEEN + offset])) != 0;
+		}
+
+		// Castling, the rook can give check from the tile it jumps to
+		if (type == KING && Math.abs(to - from) == 2) {
+			int rookFrom = to > from ? to + 1 : to - 2;
+			int rookTo = (from + to) / 2;
+			long after = (occupied ^ fromBit ^ (1L << rookFrom)) | toBit | (1L << rookTo);
+
+			return (Attacks.rookAttacks(rookTo, after) & (1L << enemyKing)) != 0;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Works out the tiles every kind of piece of the player to move would give check from, and the pieces
+	 * of that player that are the only piece between one of its own rooks, bishops or queens and the other king.
+	 */
+	private void updateCheckInfo() {
+		boolean white = whiteToMove;
+		int enemyKing = getKingSquare(!white);
+		int offset = white ? 0 : 6;
+
+		// A pawn gives check from the tiles a pawn of the other color on the king's tile would attack
+		checkSquares[PAWN] = white ? Attacks.BLACK_PAWN_ATTACKS[enemyKing] : Attacks.WHITE_PAWN_ATTACKS[enemyKing];
+		checkSquares[KNIGHT] = Attacks.KNIGHT_ATTACKS[enemyKing];
+		checkSquares[BISHOP] = Attacks.bishopAttacks(enemyKing, occupied);
+		checkSquares[ROOK] = Attacks.rookAttacks(enemyKing, occupied);
+		checkSquares[QUEEN] = checkSquares[BISHOP] | checkSquares[ROOK];
+		checkSquares[KING] = 0L;
+
+		discoverers = 0L;
+
+		long snipers = (Attacks.rookAttacks(enemyKing, 0L) & (pieces[ROOK + offset] | pieces[QUEEN + offset]))
+				| (Attacks.bishopAttacks(enemyKing, 0L) & (pieces[BISHOP + offset] | pieces[QUEEN + offset]));
+
+		while (snipers != 0) {
+			int sniper = Long.numberOfTrailingZeros(snipers);
+			snipers &= snipers - 1;
+
+			long blockers = Attacks.BETWEEN[enemyKing][sniper] & occupied;
+
+			if (blockers != 0 && (blockers & (blockers - 1)) == 0) {
+				discoverers |= blockers & getOccupancy(white);
+			}
+		}
+
+		checkInfoValid = true;
+	}
+
+	/**
+	 * Gets every tile a color attacks. The mask is kept until a piece is placed or removed, so asking about
+	 * many tiles of the same position costs one bit test each. Since the mask is kept in the position, this
+	 * must not be called by two threads on the same position.
+	 *
+	 * @param white True for the tiles white attacks, false for black
+	 * @return Mask of the attacked tiles
+	 */
+	public long getAttacks(boolean white) {
+		if (!attacksValid) {
+			whiteAttacks = pieceAttacks(true);
+			blackAttacks = pieceAttacks(false);
+			attacksValid = true;
+		}
+
+		return white ? whiteAttacks : blackAttacks;
+	}
+
+	/**
+	 * Works out every tile the pieces of a color attack. Pawns attack the tiles they could capture on,
+	 * whether or not there is a piece there.
+	 *
+	 * @param white True for the white pieces, false for black
+	 * @return Mask of the attacked tiles
+	 */
+	private long pieceAttacks(boolean white) {
+		int offset = white ? 0 : 6;
+		long[] pawnAttacks = white ? Attacks.WHITE_PAWN_ATTACKS : Attacks.BLACK_PAWN_ATTACKS;
+		long attacks = 0L;
+
+		for (long b = pieces[KING + offset]; b != 0; b &= b - 1) {
+			attacks |= Attacks.KING_ATTACKS[Long.numberOfTrailingZeros(b)];
+		}
+		for (long b = pieces[PAWN + offset]; b != 0; b &= b - 1) {
+			attacks |= pawnAttacks[Long.numberOfTrailingZeros(b)];
+		}
+		for (long b = pieces[KNIGHT + offset]; b != 0; b &= b - 1) {
+			attacks |= Attacks.KNIGHT_ATTACKS[Long.numberOfTrailingZeros(b)];
+		}
+		for (long b = pieces[BISHOP + offset] | pieces[QUEEN + offset]; b != 0; b &= b - 1) {
+			attacks |= Attacks.bishopAttacks(Long.numberOfTrailingZeros(b), occupied);
+		}
+		for (long b = pieces[ROOK + offset] | pieces[QUEEN + offset]; b != 0; b &= b - 1) {
+			attacks |= Attacks.rookAttacks(Long.numberOfTrailingZeros(b), occupied);
+		}
+
+		return attacks;
+	}
+
+	/**
+	 * Gets every tile that has a piece of one color and kind on it. Going through the set bits of the mask
+	 * touches only those pieces, never more than 16 for a color.
+	 *
+	 * @param white True for the white pieces, false for the black pieces
+	 * @param type Kind of piece, such as ROOK
+	 * @return Mask of the tiles
+	 */
+	public long getPieces(boolean white, int type) {
+		return pieces[white ? type : type + 6];
+	}
+
+	/**
+	 * Gets every tile that has a piece of the given color on it.
+	 *
+	 * @param white True for the white pieces, false for the black pieces
+	 * @return Mask of the tiles
+	 */
+	public long getOccupancy(boolean white) {
+		return white ? whitePieces : blackPieces;
+	}
+
+	/**
+	 * Checks whose turn it is.
+	 *
+	 * @return True if it is white's turn
+	 */
+	public boolean isWhiteToMove() {
+		return whiteToMove;
+	}
+
+	/**
+	 * Passes the turn to the other player.
+	 */
+	public void changeSide() {
+		whiteToMove = !whiteToMove;
+		key ^= Zobrist.SIDE;
+		pinsValid = false;
+		checkInfoValid = false;
+	}
+
+	/**
+	 * Gets the tile of a king.
+	 *
+	 * @param white True for the white king, false for the black king
+	 * @return The index of the tile
+	 */
+	public int getKingSquare(boolean white) {
+		return white ? whiteKingSquare : blackKingSquare;
+	}
+
+	/**
+	 * Gets the castling flags that are still set, one bit each, see Castling.
+	 *
+	 * @return The castling flags
+	 */
+	public int getCastlingRights() {
+		return castlingRights;
+	}
+
+	/**
+	 * Gets the tile a pawn can move to by en passant. This is the tile a pawn skipped over
+	 * when it moved two steps on the last move.
+	 *
+	 * @return The index of the tile, or -1 if no pawn can be taken by en passant
+	 */
+	public int getEnPassantSquare() {
+		return enPassantSquare;
+	}
+
+	/**
+	 * Gets the Zobrist key of the position. Two positions with the same pieces, castling flags, en passant tile
+	 * and player to move have the same key.
+	 *
+	 * @return The key of the position
+	 */
+	public long getKey() {
+		return key;
+	}
+
+	/**
+	 * Determines if the position was already reached by one of the moves that can still be taken back.
+	 * Moves made before the position was loaded or copied are not known.
+	 *
+	 * @return True if the same pieces, flags and player to move were seen before
+	 */
+	public boolean isRepetition() {
+		for (int i = undoCount - 1; i >= 0; i--) {
+			if (undoKeys[i] == key) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Works out the Zobrist key of the position from scratch. The key is normally kept up to date as moves
+	 * are made, so this is only needed once the board is set up.
+	 *
+	 * @return The key of the position
+	 */
+	public long computeKey() {
+		long newKey = Zobrist.CASTLING[castlingRights];
+
+		for (int index = 0; index < 12; index++) {
+			for (long b = pieces[index]; b != 0; b &= b - 1) {
+				newKey ^= Zobrist.PIECES[index][Long.numberOfTrailingZeros(b)];
+			}
+		}
+		if (enPassantSquare >= 0) {
+			newKey ^= Zobrist.EN_PASSANT[enPassantSquare & 7];
+		}
+		if (!whiteToMove) {
+			newKey ^= Zobrist.SIDE;
+		}
+
+		return newKey;
+	}
+
+	/**
+	 * Makes a move on the board and saves what is needed to take it back with unmakeMove.
+	 * The move is not checked, it has to be valid already. Castling moves the rook as well,
+	 * en passant removes the pawn that was passed, and a pawn reaching the last row is promoted.
+	 * Castling is no longer allowed once a king or rook moves, or a rook is taken.
+	 *
+	 * @param move The packed move, see Move
+	 */
+	public void makeMove(int move) {
+		int from = Move.from(move);
+		int to = Move.to(move);
+		int movedPiece = mailbox[from];
+		int type = movedPiece % 6;
+		boolean white = movedPiece < 6;
+		int oldRights = castlingRights;
+
+		if (undoCount == undoMoves.length) {
+			growUndoStack();
+		}
+
+		undoMoves[undoCount] = move;
+		undoMovedPieces[undoCount] = (byte) movedPiece;
+		undoCapturedPieces[undoCount] = mailbox[to];
+		undoCastlingRights[undoCount] = oldRights;
+		undoEnPassantSquares[undoCount] = enPassantSquare;
+		undoKeys[undoCount] = key;
+
+		// En passant, the pawn that is taken is not on the tile the moving pawn goes to
+		if (type == PAWN && to == enPassantSquare && (from & 7) != (to & 7)) {
+			int capturedSquare = white ? to - 8 : to + 8;
+			undoCapturedPieces[undoCount] = mailbox[capturedSquare];
+			put(capturedSquare, EMPTY);
+		}
+
+		undoCount++;
+
+		// A rook that is taken on its starting tile can no longer castle
+		if (mailbox[to] != EMPTY && mailbox[to] % 6 == ROOK) {
+			Castling.rookMoved(this, to);
+		}
+
+		int promotion = Move.promotion(move);
+		put(to, promotion != 0 ? (white ? promotion : promotion + 6) : movedPiece);
+		put(from, EMPTY);
+
+		if (enPassantSquare >= 0) {
+			key ^= Zobrist.EN_PASSANT[enPassantSquare & 7];
+		}
+		enPassantSquare = -1;
+
+		if (type == PAWN && Math.abs(to - from) == 16) {
+			enPassantSquare = (from + to) / 2;
+		} else if (type == ROOK) {
+			Castling.rookMoved(this, from);
+		} else if (type == KING) {
+			Castling.kingMoved(this, from);
+
+			// Castling, the rook jumps over to the other side of the king
+			if (Math.abs(to - from) == 2) {
+				int rookFrom = to > from ? to + 1 : to - 2;
+				int rookTo = (from + to) / 2;
+				Castling.rookMoved(this, rookFrom);
+				put(rookTo, mailbox[rookFrom]);
+				put(rookFrom, EMPTY);
+			}
+		}
+
+		if (enPassantSquare >= 0) {
+			key ^= Zobrist.EN_PASSANT[enPassantSquare & 7];
+		}
+		key ^= Zobrist.CASTLING[oldRights] ^ Zobrist.CASTLING[castlingRights];
+	}
+
+	/**
+	 * Takes back the last move made with makeMove, putting every piece, the castling rights,
+	 * the en passant tile and the key back to what they were before it.
+	 */
+	public void unmakeMove() {
+		undoCount--;
+
+		int move = undoMoves[undoCount];
+		int from = Move.from(move);
+		int to = Move.to(move);
+		int movedPiece = undoMovedPieces[undoCount];
+		int capturedPiece = undoCapturedPieces[undoCount];
+		int type = movedPiece % 6;
+
+		castlingRights = undoCastlingRights[undoCount];
+		enPassantSquare = undoEnPassantSquares[undoCount];
+
+		put(from, movedPiece);
+
+		if (type == PAWN && to == enPassantSquare && (from & 7) != (to & 7)) {
+			put(to, EMPTY);
+			put(movedPiece < 6 ? to - 8 : to + 8, capturedPiece);
+		} else {
+			put(to, capturedPiece);
+		}
+
+		if (type == KING && Math.abs(to - from) == 2) {
+			int rookFrom = to > from ? to + 1 : to - 2;
+			int rookTo = (from + to) / 2;
+			put(rookFrom, mailbox[rookTo]);
+			put(rookTo, EMPTY);
+		}
+
+		key = undoKeys[undoCount];
+	}
+
+	/**
+	 * Sets up the board from a FEN string, such as
+	 * "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1".
+	 * The move counters at the end are optional and are not used.
+	 *
+	 * @param fen The FEN string
+	 * @throws IllegalArgumentException If the string is not valid FEN
+	 */
+	public void loadFen(String fen) {
+		String[] fields = fen.trim().split("\\s+");
+
+		if (fields.length < 4) {
+			throw new IllegalArgumentException("FEN needs at least 4 fields: " + fen);
+		}
+
+		for (long b = occupied; b != 0; b &= b - 1) {
+			put(Long.numberOfTrailingZeros(b), EMPTY);
+		}
+
+		int rank = 7;
+		int file = 0;
+
+		for (char c : fields[0].toCharArray()) {
+			if (c == '/') {
+				rank--;
+				file = 0;
+			} else if (c >= '1' && c <= '8') {
+				file += c - '0';
+			} else {
+				int type = FEN_LETTERS.indexOf(Character.toLowerCase(c));
+
+				if (type < 0 || file > 7 || rank < 0) {
+					throw new IllegalArgumentException("Bad piece placement in FEN: " + fen);
+				}
+
+				put(rank * 8 + file, Character.isUpperCase(c) ? type : type + 6);
+				file++;
+			}
+		}
+
+		if (!fields[1].equals("w") && !fields[1].equals("b")) {
+			throw new IllegalArgumentException("Bad side to move in FEN: " + fen);
+		}
+		whiteToMove = fields[1].equals("w");
+
+		castlingRights = 0;
+		for (char c : fields[2].toCharArray()) {
+			if (c == 'K') {
+				castlingRights |= Castling.WHITE_KING_CASTLE | Castling.WHITE_RIGHT_CASTLE;
+			} else if (c == 'Q') {
+				castlingRights |= Castling.WHITE_KING_CASTLE | Castling.WHITE_LEFT_CASTLE;
+			} else if (c == 'k') {
+				castlingRights |= Castling.BLACK_KING_CASTLE | Castling.BLACK_LEFT_CASTLE;
+			} else if (c == 'q') {
+				castlingRights |= Castling.BLACK_KING_CASTLE | Castling.BLACK_RIGHT_CASTLE;
+			}
+		}
+
+		enPassantSquare = fields[3].equals("-") ? -1 : squareIndex(fields[3]);
+		undoCount = 0;
+		key = computeKey();
+	}
+
+	/**
+	 * Copies the pieces of another position into this one. The moves made on the other position
+	 * are not copied, so they cannot be taken back on this one.
+	 *
+	 * @param other The position to copy from
+	 */
+	public void copyFrom(Position other) {
+		System.arraycopy(other.pieces, 0, pieces, 0, 12);
+		System.arraycopy(other.mailbox, 0, mailbox, 0, 64);
+		whitePieces = other.whitePieces;
+		blackPieces = other.blackPieces;
+		occupied = other.occupied;
+		enPassantSquare = other.enPassantSquare;
+		key = other.key;
+		whiteToMove = other.whiteToMove;
+		castlingRights = other.castlingRights;
+		whiteKingSquare = other.whiteKingSquare;
+		blackKingSquare = other.blackKingSquare;
+		attacksValid = false;
+		pinsValid = false;
+		checkInfoValid = false;
+		undoCount = 0;
+	}
+
+	/**
+	 * Gets the object of a kind of piece. There is only one for each kind, shared by every board.
+	 *
+	 * @param index Index of the piece mask, such as WHITE_QUEEN
+	 * @return The piece
+	 */
+	public static Piece pieceFor(int index) {
+		return PIECE_INSTANCES[index];
+	}
+
+	/**
+	 * Gets the empty tile with the right color for a tile.
+	 *
+	 * @param square The index of the tile
+	 * @return The empty tile
+	 */
+	public static Piece emptyTile(int square) {
+		return Board.isBlackTile(square) ? DARK_TILE : LIGHT_TILE;
+	}
+
+	/**
+	 * Makes the object for a kind of piece, only used to fill the shared instances.
+	 *
+	 * @param index Index of the piece mask, such as WHITE_QUEEN
+	 * @return The new piece
+	 */
+	private static Piece createPiece(int index) {
+		String pieceName = (index < 6 ? "w" : "b") + PIECE_LETTERS.charAt(index % 6);
+
+		switch (index % 6) {
+			case PAWN:
+				return new Pawn(pieceName);
+			case KNIGHT:
+				return new Knight(pieceName);
+			case BISHOP:
+				return new Bishop(pieceName);
+			case ROOK:
+				return new Rook(pieceName);
+			case KING:
+				return new King(pieceName);
+			default:
+				return new Queen(pieceName);
+		}
+	}
+
+	/**
+	 * Doubles the size of the undo stack once a game has more moves than it can hold.
+	 */
+	private void growUndoStack() {
+		int size = undoMoves.length * 2;
+		undoMoves = Arrays.copyOf(undoMoves, size);
+		undoMovedPieces = Arrays.copyOf(undoMovedPieces, size);
+		undoCapturedPieces = Arrays.copyOf(undoCapturedPieces, size);
+		undoCastlingRights = Arrays.copyOf(undoCastlingRights, size);
+		undoEnPassantSquares = Arrays.copyOf(undoEnPassantSquares, size);
+		undoKeys = Arrays.copyOf(undoKeys, size);
+	}
+}
@@ -0,0 +1,749 @@
+package chess;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Finds the best move of a position for the player whose turn it is. The search is a negamax alpha-beta search:
+ * every move is tried, the score of the position after it is worked out from the other player's side and turned
+ * around, and moves that cannot change the result are cut off early. At the end of the search only captures
+ * are looked at, so a piece is never counted as won when it can be taken right back.
+ *
+ * The search is run again and again one move deeper each time, using the results of the last run to try the best
+ * moves first. This way it can be stopped at any time, once it has used up its nodes or its time, and still give
+ * the best move of the last run that was finished. The best line of moves found, the principal variation, is kept
+ * for every run.
+ *
+ * The search works on its own copy of the position, so the position given to it is never changed. Results are
+ * kept in a TranspositionTable that can be kept between searches.
+ *
+ * The search can use more than one thread (Lazy SMP). Every thread searches the same position with its own copy,
+ * and the threads only share the transposition table, which needs no locks. Helper threads start at different
+ * depths, so they fill the table with results the main thread finds there when it gets to them. All threads stop
+ * together once the main thread is done or the budget is used up. The number of threads is given for each
+ * search, so a server can choose between more threads for one game or more games at the same time.
+ *
+ * Usage:
+ * java chess.Search [threads] [depth]	compares the time to reach a depth with one thread and with more threads
+ *
+ * @author Amit Patel, Hideyo Sakamoto
+ *
+ */
+
+public class Search {
+	public static final int MAX_PLY = 64;			// Deepest the search ever looks, captures included
+	public static final int INFINITY = 32000;
+	public static final int MATE = 31000;			// Score of a checkmate on the board, less one for every move to it
+
+	private static final int MATE_BOUND = MATE - MAX_PLY;	// Scores beyond this are checkmates
+	private static final int CHECK_INTERVAL = 2047;		// The limits are looked at once every 2048 nodes
+	private static final int HISTORY_LIMIT = 1 << 20;	// Largest count of the history table before it is halved
+
+	private static final String[] BENCH_FENS = {
+		"rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+		"r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+		"r1bq1rk1/pp2ppbp/2np1np1/8/3NP3/2N1BP2/PPPQ2PP/R3KB1R w KQ - 0 9",
+		"8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+	};
+	private static final int BENCH_MEGABYTES = 64;
+
+	private final TranspositionTable table;
+	private Worker[] workers = new Worker[0];	// Kept between searches so their arrays are only made once
+
+	private final AtomicLong sharedNodes = new AtomicLong();	// Nodes of every thread, added up in steps
+	private long nodeLimit;
+	private long deadline;
+	private volatile boolean stopped;
+	private volatile boolean stopRequested;
+
+	/**
+	 * Compares the time to reach a depth with one thread and with more threads on a few positions, and prints
+	 * the nodes per second of every thread. Every position is searched once with both before anything is timed,
+	 * so that the JIT has compiled the search and the first searches are not slower than the rest.
+	 *
+	 * @param args Nothing, or the number of threads and the depth
+	 */
+	public static void main(String[] args) {
+		int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+		int depth = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+		long singleTime = 0;
+		long parallelTime = 0;
+
+		for (String fen : BENCH_FENS) {
+			Position position = new Position();
+			position.loadFen(fen);
+			new Search(BENCH_MEGABYTES).search(position, Math.max(1, depth - 1), 0, 0, 1);
+			new Search(BENCH_MEGABYTES).search(position, Math.max(1, depth - 1), 0, 0, threads);
+		}
+
+		for (String fen : BENCH_FENS) {
+			Position position = new Position();
+			position.loadFen(fen);
+
+			Result single = new Search(BENCH_MEGABYTES).search(position, depth, 0, 0, 1);
+			Result parallel = new Search(BENCH_MEGABYTES).search(position, depth, 0, 0, threads);
+			singleTime += single.millis;
+			parallelTime += parallel.millis;
+
+			System.out.println(fen);
+			System.out.println("  1 thread:  " + single);
+			System.out.println("  " + threads + " threads: " + parallel);
+
+			for (int i = 0; i < parallel.threadNodes.length; i++) {
+				System.out.println("    thread " + i + ": " + parallel.threadNodes[i] + " nodes, "
+						+ parallel.nodesPerSecond(i) + " nodes per second");
+			}
+		}
+
+		System.out.println("Time to depth " + depth + ": " + singleTime + " ms with 1 thread, " + parallelTime
+				+ " ms with " + threads + " threads, speedup " + String.format("%.2f", (double) singleTime / Math.max(1, parallelTime)));
+	}
+
+	/**
+	 * Makes a search with its own transposition table.
+	 *
+	 * @param megabytes Size of the transposition table in megabytes
+	 */
+	public Search(int megabytes) {
+		this(new TranspositionTable(megabytes));
+	}
+
+	/**
+	 * Makes a search that stores its results in the given table.
+	 *
+	 * @param table The transposition table to use
+	 */
+	public Search(TranspositionTable table) {
+		this.table = table;
+	}
+
+	/**
+	 * Finds the best move of a position with one thread. The search goes one move deeper at a time until it
+	 * reaches the depth, or runs out of nodes or time. A move is always given whenever there is a legal one,
+	 * even if the search is stopped before the first run is finished.
+	 *
+	 * @param root Position to search, it is not changed
+	 * @param maxDepth Deepest run, at least 1, deeper than MAX_PLY is searched to MAX_PLY
+	 * @param maxNodes Number of nodes after which the search stops, 0 for no limit
+	 * @param maxMillis Time in milliseconds after which the search stops, 0 for no limit
+	 * @return The best move and score of the deepest finished run
+	 */
+	public Result search(Position root, int maxDepth, long maxNodes, long maxMillis) {
+		return search(root, maxDepth, maxNodes, maxMillis, 1);
+	}
+
+	/**
+	 * Finds the best move of a position like the other search, with helper threads that search the same position
+	 * and share the transposition table. The result comes from the thread that called this method.
+	 *
+	 * @param root Position to search, it is not changed
+	 * @param maxDepth Deepest run, at least 1, deeper than MAX_PLY is searched to MAX_PLY
+	 * @param maxNodes Number of nodes of all threads together after which the search stops, 0 for no limit
+	 * @param maxMillis Time in milliseconds after which the search stops, 0 for no limit
+	 * @param threads Number of threads, at least 1
+	 * @return The best move and score of the deepest finished run
+	 */
+	public Result search(Position root, int maxDepth, long maxNodes, long maxMillis, int threads) {
+		if (maxDepth < 1) {
+			throw new IllegalArgumentException("Search needs a depth of at least 1, got " + maxDepth);
+		}
+		if (threads < 1) {
+			throw new IllegalArgumentException("Search needs at least 1 thread, got " + threads);
+		}
+
+		long start = System.nanoTime();
+
+		if (workers.length < threads) {
+			int made = workers.length;
+			workers = Arrays.copyOf(workers, threads);
+
+			for (int i = made; i < threads; i++) {
+				workers[i] = new Worker(i);
+			}
+		}
+
+		table.newSearch();
+		sharedNodes.set(0);
+		nodeLimit = maxNodes > 0 ? maxNodes : Long.MAX_VALUE;
+		deadline = maxMillis > 0 ? start + maxMillis * 1000000L : Long.MAX_VALUE;
+		stopped = false;
+		stopRequested = false;
+
+		for (int i = 0; i < threads; i++) {
+			workers[i].reset(root);
+		}
+
+		Thread[] helpers = new Thread[threads - 1];
+
+		for (int i = 0; i < helpers.length; i++) {
+			helpers[i] = new Thread(workers[i + 1], "search-helper-" + (i + 1));
+			helpers[i].start();
+		}
+
+		try {
+			workers[0].iterate(Math.min(maxDepth, MAX_PLY));
+		} finally {
+			stopped = true;
+
+			for (Thread helper : helpers) {
+				joinQuietly(helper);
+			}
+		}
+
+		long[] threadNodes = new long[threads];
+		long cutoffs = 0;
+		long firstMoveCutoffs = 0;
+
+		for (int i = 0; i < threads; i++) {
+			threadNodes[i] = workers[i].nodes;
+			cutoffs += workers[i].cutoffs;
+			firstMoveCutoffs += workers[i].firstMoveCutoffs;
+		}
+
+		Worker main = workers[0];
+		return new Result(main.bestLine, main.bestScore, main.bestDepth, threadNodes, System.nanoTime() - start,
+				cutoffs, firstMoveCutoffs);
+	}
+
+	/**
+	 * Stops the search as soon as possible. Can be called from another thread.
+	 */
+	public void stop() {
+		stopRequested = true;
+	}
+
+	/**
+	 * Waits for a helper thread to finish. If the waiting thread is interrupted it keeps waiting, since the helper
+	 * is already stopping and its worker cannot be used again until it is done.
+	 *
+	 * @param helper The helper thread
+	 */
+	private static void joinQuietly(Thread helper) {
+		boolean interrupted = false;
+
+		while (true) {
+			try {
+				helper.join();
+				break;
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Checkmate scores count the moves from the root, but the table is shared by every ply, so they are stored
+	 * counting the moves from the position itself.
+	 *
+	 * @param score Score counting from the root
+	 * @param ply Number of moves made since the root
+	 * @return Score counting from the position
+	 */
+	private static int scoreToTable(int score, int ply) {
+		if (score > MATE_BOUND) {
+			return score + ply;
+		}
+		if (score < -MATE_BOUND) {
+			return score - ply;
+		}
+		return score;
+	}
+
+	/**
+	 * Turns a checkmate score from the table back into one that counts the moves from the root.
+	 *
+	 * @param score Score counting from the position
+	 * @param ply Number of moves made since the root
+	 * @return Score counting from the root
+	 */
+	private static int scoreFromTable(int score, int ply) {
+		if (score > MATE_BOUND) {
+			return score - ply;
+		}
+		if (score < -MATE_BOUND) {
+			return score + ply;
+		}
+		return score;
+	}
+
+	/**
+	 * Finds the best move with its own copy of the position, its own move arrays and its own principal variation.
+	 * The first worker runs on the thread that called search and gives the result, the others are helpers that
+	 * only fill the shared transposition table.
+	 */
+	private class Worker implements Runnable {
+		private final int id;
+		private final Position position = new Position();
+
+		private final MovePicker[] pickers = new MovePicker[MAX_PLY + 1];	// One picker per ply
+		private final int[] playedMoves = new int[MAX_PLY + 1];		// Move being searched at each ply
+		private final int[][] pv = new int[MAX_PLY + 1][MAX_PLY + 1];	// Best line found from each ply
+		private final int[] pvLength = new int[MAX_PLY + 1];
+
+		// Quiet moves that caused cutoffs: two killers per ply, the counter move to every piece arriving on
+		// every tile, and how often every piece going to every tile did so
+		private final int[][] killers = new int[MAX_PLY + 1][2];
+		private final int[][] counterMoves = new int[12][64];
+		private final int[][] history = new int[12][64];
+
+		private long nodes;
+		private long cutoffs;			// Nodes where a move was good enough to stop searching the others
+		private long firstMoveCutoffs;	// Cutoffs made by the first move that was tried
+
+		// Result of the deepest run that was finished
+		private int[] bestLine;
+		private int bestScore;
+		private int bestDepth;
+
+		/**
+		 * @param id Number of the worker, 0 for the one that gives the result
+		 */
+		Worker(int id) {
+			this.id = id;
+
+			for (int i = 0; i <= MAX_PLY; i++) {
+				pickers[i] = new MovePicker();
+			}
+		}
+
+		/**
+		 * Gets the worker ready for a new search.
+		 *
+		 * @param root Position to search
+		 */
+		void reset(Position root) {
+			position.copyFrom(root);
+			nodes = 0;
+			cutoffs = 0;
+			firstMoveCutoffs = 0;
+
+			// Killers only hold in nearby positions, the history of the last search still counts for a little
+			for (int[] plyKillers : killers) {
+				Arrays.fill(plyKillers, Move.NONE);
+			}
+			for (int[] pieceHistory : history) {
+				for (int to = 0; to < 64; to++) {
+					pieceHistory[to] /= 8;
+				}
+			}
+			bestLine = null;
+			bestScore = 0;
+			bestDepth = 0;
+		}
+
+		/**
+		 * Searches one move deeper at a time until the depth is reached, a forced checkmate is found or the search
+		 * is stopped. A run that was stopped halfway has not looked at every move, so its result is thrown away.
+		 * Only if the first run was stopped, the best of the moves it did look at is used.
+		 *
+		 * @param maxDepth Deepest run
+		 */
+		void iterate(int maxDepth) {
+			for (int depth = 1; depth <= maxDepth; depth++) {
+				int score = alphaBeta(depth, 0, -INFINITY, INFINITY);
+
+				if (stopped) {
+					if (bestLine == null) {
+						keepPartialResult();
+					}
+					return;
+				}
+
+				bestLine = new int[pvLength[0]];
+				System.arraycopy(pv[0], 0, bestLine, 0, bestLine.length);
+				bestScore = score;
+				bestDepth = depth;
+
+				// Only a checkmate or a draw can end the best line before the depth of the run
+				assert bestLine.length >= depth || score == 0 || Math.abs(score) > MATE_BOUND
+						: "Best line of " + bestLine.length + " moves at depth " + depth;
+
+				// No deeper run can find a shorter checkmate, and with no legal move there is nothing to search
+				if (Math.abs(score) > MATE_BOUND && MATE - Math.abs(score) <= depth || bestLine.length == 0) {
+					return;
+				}
+			}
+		}
+
+		/**
+		 * Runs a helper. Helpers search the same root as the first worker until it is done, every other one
+		 * starting a move deeper, so that the threads are spread over different depths and fill the table with
+		 * results the others can use.
+		 */
+		@Override
+		public void run() {
+			for (int depth = 1 + id % 2; depth <= MAX_PLY && !stopped; depth++) {
+				alphaBeta(depth, 0, -INFINITY, INFINITY);
+			}
+		}
+
+		/**
+		 * Keeps the result of a first run that was stopped before it was finished. Its best move is the best of
+		 * the moves that were looked at, or the first legal move if not even one was finished. The score is not known.
+		 */
+		private void keepPartialResult() {
+			if (pvLength[0] > 0) {
+				bestLine = new int[] {pv[0][0]};
+			} else {
+				MoveList moves = new MoveList().generate(position);
+				bestLine = moves.size() > 0 ? new int[] {moves.get(0)} : new int[0];
+			}
+		}
+
+		/**
+		 * Searches a position to a depth and gives its score from the side of the player to move.
+		 *
+		 * @param depth Number of moves left to search before only captures are looked at
+		 * @param ply Number of moves made since the root
+		 * @param alpha Score the player to move is already sure to get
+		 * @param beta Score the opponent is already sure to hold the player to
+		 * @return Score of the position
+		 */
+		private int alphaBeta(int depth, int ply, int alpha, int beta) {
+			pvLength[ply] = 0;
+
+			if (ply > 0 && position.isRepetition()) {
+				return 0;
+			}
+
+			boolean inCheck = position.getCheckers() != 0;
+
+			// A move that gives check is looked at one move further, so checks at the end of the search are not missed
+			if (inCheck) {
+				depth++;
+			}
+
+			if (depth <= 0 || ply >= MAX_PLY) {
+				return quiesce(ply, alpha, beta);
+			}
+
+			if (countNode()) {
+				return 0;
+			}
+
+			long entry = table.probe(position.key);
+			int hashMove = Move.NONE;
+
+			if (entry != 0) {
+				hashMove = TranspositionTable.move(entry);
+
+				if (ply > 0 && TranspositionTable.depth(entry) >= depth) {
+					int score = scoreFromTable(TranspositionTable.score(entry), ply);
+					int bound = TranspositionTable.bound(entry);
+
+					// An exact score inside the window would end the best line here, so it is only used outside the
+					// best line, where the window is one point wide and no line is kept
+					if (bound == TranspositionTable.EXACT && beta - alpha == 1
+							|| bound != TranspositionTable.UPPER_BOUND && score >= beta
+							|| bound != TranspositionTable.LOWER_BOUND && score <= alpha) {
+						return score;
+					}
+				}
+			}
+
+			int previous = ply > 0 ? playedMoves[ply - 1] : Move.NONE;
+			int counterMove = Move.NONE;
+
+			if (previous != Move.NONE) {
+				counterMove = counterMoves[position.mailbox[Move.to(previous)]][Move.to(previous)];
+			}
+
+			MovePicker picker = pickers[ply];
+			picker.init(position, hashMove, killers[ply][0], killers[ply][1], counterMove, history);
+
+			if (!picker.hasLegalMove()) {
+				return inCheck ? -MATE + ply : 0;
+			}
+
+			int bestScore = -INFINITY;
+			int bestMove = Move.NONE;
+			int originalAlpha = alpha;
+			int tried = 0;
+			int move;
+
+			while ((move = picker.next()) != Move.NONE) {
+				playedMoves[ply] = move;
+				tried++;
+
+				position.makeMove(move);
+				position.changeSide();
+				int score = -alphaBeta(depth - 1, ply + 1, -beta, -alpha);
+				position.changeSide();
+				position.unmakeMove();
+
+				if (stopped) {
+					return 0;
+				}
+
+				if (score > bestScore) {
+					bestScore = score;
+					bestMove = move;
+
+					if (score > alpha) {
+						alpha = score;
+						updatePv(ply, move);
+
+						if (alpha >= beta) {
+							cutoffs++;
+
+							if (tried == 1) {
+								firstMoveCutoffs++;
+							}
+							if (!Move.isCapture(move) && !Move.isPromotion(move)) {
+								updateQuietCutoff(ply, move, depth, previous);
+							}
+							break;
+						}
+					}
+				}
+			}
+
+			int bound = bestScore >= beta ? TranspositionTable.LOWER_BOUND
+					: bestScore > originalAlpha ? TranspositionTable.EXACT : TranspositionTable.UPPER_BOUND;
+			table.store(position.key, bestMove, scoreToTable(bestScore, ply), depth, bound);
+
+			return bestScore;
+		}
+
+		/**
+		 * Searches only the captures and promotions of a position, until no capture is left that could raise the score.
+		 * The player to move can always choose not to capture, so the score of the position itself is the least it gets.
+		 * When the king is in check every move that gets out of it is searched instead.
+		 *
+		 * @param ply Number of moves made since the root
+		 * @param alpha Score the player to move is already sure to get
+		 * @param beta Score the opponent is already sure to hold the player to
+		 * @return Score of the position
+		 */
+		private int quiesce(int ply, int alpha, int beta) {
+			pvLength[ply] = 0;
+
+			if (countNode()) {
+				return 0;
+			}
+
+			boolean inCheck = position.getCheckers() != 0;
+
+			if (ply >= MAX_PLY) {
+				return inCheck ? 0 : Evaluation.evaluate(position);
+			}
+
+			MovePicker picker = pickers[ply];
+			picker.initCaptures(position, history);
+
+			// Without a legal move the position is over, whatever the pieces are worth
+			if (!picker.hasLegalMove()) {
+				return inCheck ? -MATE + ply : 0;
+			}
+
+			int bestScore = -INFINITY;
+
+			if (!inCheck) {
+				bestScore = Evaluation.evaluate(position);
+
+				if (bestScore >= beta) {
+					return bestScore;
+				}
+				if (bestScore > alpha) {
+					alpha = bestScore;
+				}
+			}
+
+			int move;
+
+			while ((move = picker.next()) != Move.NONE) {
+				position.makeMove(move);
+				position.changeSide();
+				int score = -quiesce(ply + 1, -beta, -alpha);
+				position.changeSide();
+				position.unmakeMove();
+
+				if (stopped) {
+					return 0;
+				}
+
+				if (score > bestScore) {
+					bestScore = score;
+
+					if (score > alpha) {
+						alpha = score;
+						updatePv(ply, move);
+
+						if (alpha >= beta) {
+							break;
+						}
+					}
+				}
+			}
+
+			return bestScore;
+		}
+
+		/**
+		 * Remembers a quiet move that caused a cutoff, as a killer of its ply, as the counter move to the move
+		 * before it, and in the history table. Deeper searches count for more in the history, since their cutoffs
+		 * save more nodes. Once a count gets too big every count is halved, so the table never overflows.
+		 *
+		 * @param ply Number of moves made since the root
+		 * @param move The quiet move
+		 * @param depth Depth that was left
+		 * @param previous The move before it, or Move.NONE at the root
+		 */
+		private void updateQuietCutoff(int ply, int move, int depth, int previous) {
+			if (killers[ply][0] != move) {
+				killers[ply][1] = killers[ply][0];
+				killers[ply][0] = move;
+			}
+
+			if (previous != Move.NONE) {
+				counterMoves[position.mailbox[Move.to(previous)]][Move.to(previous)] = move;
+			}
+
+			int[] pieceHistory = history[position.mailbox[Move.from(move)]];
+			pieceHistory[Move.to(move)] += depth * depth;
+
+			if (pieceHistory[Move.to(move)] > HISTORY_LIMIT) {
+				for (int[] row : history) {
+					for (int to = 0; to < 64; to++) {
+						row[to] /= 2;
+					}
+				}
+			}
+		}
+
+		/**
+		 * Makes a move the first move of the best line from a ply, followed by the best line from the next ply.
+		 *
+		 * @param ply Number of moves made since the root
+		 * @param move The new best move
+		 */
+		private void updatePv(int ply, int move) {
+			pv[ply][0] = move;
+			System.arraycopy(pv[ply + 1], 0, pv[ply], 1, pvLength[ply + 1]);
+			pvLength[ply] = pvLength[ply + 1] + 1;
+		}
+
+		/**
+		 * Counts a node, and every so often looks at whether the search ran out of nodes or time, or was asked to stop.
+		 * The nodes of every thread are added up in steps, so the node limit holds for all of them together.
+		 *
+		 * @return True if the search has to stop
+		 */
+		private boolean countNode() {
+			nodes++;
+
+			if ((nodes & CHECK_INTERVAL) == 0) {
+				long total = sharedNodes.addAndGet(CHECK_INTERVAL + 1);
+
+				if (stopRequested || total >= nodeLimit || System.nanoTime() >= deadline) {
+					stopped = true;
+				}
+			}
+
+			return stopped;
+		}
+	}
+
+	/**
+	 * The result of a search, from the deepest run the main thread finished.
+	 */
+	public static class Result {
+		public final int move;				// Best move, Move.NONE if there is no legal move
+		public final int score;				// Score from the side of the player to move
+		public final int depth;				// Depth of the run, 0 if not even the first run was finished
+		public final long nodes;			// Nodes searched by every thread together
+		public final long millis;			// Time used by the whole search
+		public final int[] pv;				// Best line of moves, starting with the best move
+		public final long[] threadNodes;	// Nodes searched by each thread, the main thread first
+		public final long cutoffs;			// Nodes where one move was good enough to stop searching the others
+		public final long firstMoveCutoffs;	// Cutoffs made by the first move that was tried
+
+		private final long nanos;
+
+		/**
+		 * @param pv Best line of moves, may be empty
+		 * @param score Score of the position
+		 * @param depth Depth of the run
+		 * @param threadNodes Nodes searched by each thread
+		 * @param nanos Time used in nanoseconds
+		 * @param cutoffs Number of cutoffs
+		 * @param firstMoveCutoffs Number of cutoffs made by the first move
+		 */
+		Result(int[] pv, int score, int depth, long[] threadNodes, long nanos, long cutoffs, long firstMoveCutoffs) {
+			this.move = pv.length > 0 ? pv[0] : Move.NONE;
+			this.score = score;
+			this.depth = depth;
+			this.nodes = Arrays.stream(threadNodes).sum();
+			this.millis = nanos / 1000000;
+			this.pv = pv;
+			this.threadNodes = threadNodes;
+			this.nanos = nanos;
+			this.cutoffs = cutoffs;
+			this.firstMoveCutoffs = firstMoveCutoffs;
+		}
+
+		/**
+		 * Gets how often the first move tried was the one that caused a cutoff. The closer to 1, the better the
+		 * moves are ordered.
+		 *
+		 * @return Share of the cutoffs made by the first move, between 0 and 1
+		 */
+		public double firstMoveCutoffRate() {
+			return cutoffs == 0 ? 0 : (double) firstMoveCutoffs / cutoffs;
+		}
+
+		/**
+		 * Determines if the score is a checkmate that can be forced by one of the players.
+		 *
+		 * @return True for a forced checkmate
+		 */
+		public boolean isMate() {
+			return Math.abs(score) > MATE_BOUND;
+		}
+
+		/**
+		 * Gets the nodes per second of every thread together.
+		 *
+		 * @return Nodes per second
+		 */
+		public long nodesPerSecond() {
+			return nanos == 0 ? 0 : nodes * 1000000000L / nanos;
+		}
+
+		/**
+		 * Gets the nodes per second of one thread.
+		 *
+		 * @param thread Number of the thread, 0 for the main thread
+		 * @return Nodes per second
+		 */
+		public long nodesPerSecond(int thread) {
+			return nanos == 0 ? 0 : threadNodes[thread] * 1000000000L / nanos;
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder text = new StringBuilder("depth " + depth + " score ");
+
+			if (isMate()) {
+				int plies = MATE - Math.abs(score);
+				text.append("mate ").append(score > 0 ? (plies + 1) / 2 : -(plies + 1) / 2);
+			} else {
+				text.append(score);
+			}
+
+			text.append(" nodes ").append(nodes).append(" nps ").append(nodesPerSecond())
+					.append(" time ").append(millis)
+					.append(" first move cutoffs ").append(Math.round(firstMoveCutoffRate() * 100)).append("% pv");
+
+			for (int move : pv) {
+				text.append(' ').append(Move.toString(move));
+			}
+
+			return text.toString();
+		}
+	}
+}
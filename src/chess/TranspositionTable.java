@@ -0,0 +1,231 @@
+package chess;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed size table of search results, looked up by the Zobrist key of a position. It is meant to be shared
+ * by many search threads, so nothing in it is locked.
+ *
+ * Every entry is two longs, the key XOR the data and the data itself. A thread that reads an entry while another
+ * thread is halfway through writing it gets a key that does not match once the data is XORed back out, so the
+ * torn entry is treated as a miss instead of returning data that belongs to another position.
+ *
+ * Entries are grouped four to a bucket. A new result goes into the slot of the same position if there is one,
+ * otherwise it replaces the entry that is oldest and has the smallest depth.
+ *
+ * Data layout, from the lowest bit:
+ * 16 bits move, 16 bits score, 8 bits depth, 2 bits bound type, 8 bits age.
+ *
+ * @author Amit Patel, Hideyo Sakamoto
+ *
+ */
+
+public class TranspositionTable {
+	// Bound types. The score is exact, or the real score is at least or at most the stored score.
+	public static final int EXACT = 1;
+	public static final int LOWER_BOUND = 2;
+	public static final int UPPER_BOUND = 3;
+
+	private static final int SLOTS = 4;		// Entries per bucket
+	private static final int ENTRY_BYTES = 16;
+
+	private final long[] table;
+	private final int bucketMask;
+	private volatile int age = 0;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder collisions = new LongAdder();
+
+	/**
+	 * Makes a table that uses about the given amount of memory. The number of buckets is rounded down
+	 * to a power of two.
+	 *
+	 * @param megabytes Size of the table in megabytes, at least 1
+	 */
+	public TranspositionTable(int megabytes) {
+		if (megabytes < 1) {
+			throw new IllegalArgumentException("Transposition table needs at least 1 MB, got " + megabytes);
+		}
+
+		long buckets = Long.highestOneBit((long) megabytes * 1024 * 1024 / (ENTRY_BYTES * SLOTS));
+		// Two longs per entry have to fit in one array
+		buckets = Math.max(1L, Math.min(buckets, 1L << 27));
+
+		table = new long[(int) buckets * SLOTS * 2];
+		bucketMask = (int) buckets - 1;
+	}
+
+	/**
+	 * Looks up the entry of a position.
+	 *
+	 * @param key Zobrist key of the position
+	 * @return The data of the entry, or 0 if the position is not in the table
+	 */
+	public long probe(long key) {
+		int base = ((int) key & bucketMask) * SLOTS * 2;
+
+		for (int slot = base; slot < base + SLOTS * 2; slot += 2) {
+			long data = table[slot + 1];
+
+			if (data != 0 && (table[slot] ^ data) == key) {
+				hits.increment();
+				return data;
+			}
+		}
+
+		misses.increment();
+		return 0L;
+	}
+
+	/**
+	 * Stores the result of searching a position. If the position already has an entry and no move is given,
+	 * the move of the old entry is kept.
+	 *
+	 * @param key Zobrist key of the position
+	 * @param move Best move found, or Move.NONE
+	 * @param score Score of the position, between -32768 and 32767
+	 * @param depth Depth the position was searched to, between 0 and 255
+	 * @param bound EXACT, LOWER_BOUND or UPPER_BOUND
+	 */
+	public void store(long key, int move, int score, int depth, int bound) {
+		int base = ((int) key & bucketMask) * SLOTS * 2;
+		int currentAge = age;
+		int replace = base;
+		int worstValue = Integer.MAX_VALUE;
+
+		for (int slot = base; slot < base + SLOTS * 2; slot += 2) {
+			long data = table[slot + 1];
+
+			if (data == 0) {
+				replace = slot;
+				break;
+			}
+			if ((table[slot] ^ data) == key) {
+				if (move == Move.NONE) {
+					move = move(data);
+				}
+				replace = slot;
+				break;
+			}
+
+			// Entries left over from older searches go first, then the ones searched least deep
+			int value = depth(data) - 8 * ((currentAge - age(data)) & 0xFF);
+
+			if (value < worstValue) {
+				worstValue = value;
+				replace = slot;
+			}
+		}
+
+		long oldData = table[replace + 1];
+
+		if (oldData != 0 && (table[replace] ^ oldData) != key) {
+			collisions.increment();
+		}
+
+		long data = (move & 0xFFFFL)
+				| ((score & 0xFFFFL) << 16)
+				| ((long) Math.max(0, Math.min(depth, 255)) << 32)
+				| ((long) bound << 40)
+				| ((long) currentAge << 42);
+
+		table[replace] = key ^ data;
+		table[replace + 1] = data;
+	}
+
+	/**
+	 * Should be called before every new search, so that entries from older searches are replaced first.
+	 */
+	public void newSearch() {
+		age = (age + 1) & 0xFF;
+	}
+
+	/**
+	 * Removes every entry and resets the counters.
+	 */
+	public void clear() {
+		Arrays.fill(table, 0L);
+		hits.reset();
+		misses.reset();
+		collisions.reset();
+	}
+
+	/**
+	 * Gets the move of an entry.
+	 *
+	 * @param data The data returned by probe
+	 * @return The packed move, or Move.NONE
+	 */
+	public static int move(long data) {
+		return (int) (data & 0xFFFF);
+	}
+
+	/**
+	 * Gets the score of an entry.
+	 *
+	 * @param data The data returned by probe
+	 * @return The score
+	 */
+	public static int score(long data) {
+		return (short) (data >>> 16);
+	}
+
+	/**
+	 * Gets the depth of an entry.
+	 *
+	 * @param data The data returned by probe
+	 * @return The depth the position was searched to
+	 */
+	public static int depth(long data) {
+		return (int) (data >>> 32) & 0xFF;
+	}
+
+	/**
+	 * Gets the bound type of an entry.
+	 *
+	 * @param data The data returned by probe
+	 * @return EXACT, LOWER_BOUND or UPPER_BOUND
+	 */
+	public static int bound(long data) {
+		return (int) (data >>> 40) & 3;
+	}
+
+	/**
+	 * Gets the age of an entry, which is the search it was stored in.
+	 *
+	 * @param data The data of the entry
+	 * @return The age
+	 */
+	private static int age(long data) {
+		return (int) (data >>> 42) & 0xFF;
+	}
+
+	/**
+	 * Gets how many lookups found their position.
+	 *
+	 * @return Number of hits
+	 */
+	public long getHits() {
+		return hits.sum();
+	}
+
+	/**
+	 * Gets how many lookups did not find their position.
+	 *
+	 * @return Number of misses
+	 */
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	/**
+	 * Gets how many stores replaced the entry of another position.
+	 *
+	 * @return Number of collisions
+	 */
+	public long getCollisions() {
+		return collisions.sum();
+	}
+}
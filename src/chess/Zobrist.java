@@ -0,0 +1,52 @@
+package chess;
+
+/**
+ * Random numbers used to give every position a 64 bit key. The key of a position is the XOR of the number
+ * of every piece on its tile, the castling flags, the file of the en passant tile and whose turn it is.
+ * Since XOR undoes itself, the key can be updated as pieces move instead of being worked out again.
+ *
+ * The numbers come from a fixed seed, so the same position gets the same key every time the game is run.
+ *
+ * @author Amit Patel, Hideyo Sakamoto
+ *
+ */
+
+public class Zobrist {
+	// One number for every kind of piece on every tile, indexed the same way as the piece masks in Position
+	public static final long[][] PIECES = new long[12][64];
+	// One number for every combination of the six castling flags, see Castling
+	public static final long[] CASTLING = new long[64];
+	// One number for every file the en passant tile can be on
+	public static final long[] EN_PASSANT = new long[8];
+	// Added when it is black's turn
+	public static final long SIDE;
+
+	private static long seed = 0x3C6EF372FE94F82BL;
+
+	static {
+		for (int piece = 0; piece < 12; piece++) {
+			for (int square = 0; square < 64; square++) {
+				PIECES[piece][square] = nextRandom();
+			}
+		}
+		for (int rights = 0; rights < 64; rights++) {
+			CASTLING[rights] = nextRandom();
+		}
+		for (int file = 0; file < 8; file++) {
+			EN_PASSANT[file] = nextRandom();
+		}
+		SIDE = nextRandom();
+	}
+
+	/**
+	 * Gives the next number of a SplitMix64 generator.
+	 *
+	 * @return A random 64 bit number
+	 */
+	private static long nextRandom() {
+		long z = (seed += 0x9E3779B97F4A7C15L);
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}